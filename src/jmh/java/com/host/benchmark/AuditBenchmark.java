@@ -0,0 +1,56 @@
+package com.host.benchmark;
+
+import com.host.AdminResource;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full {@code POST /admin/audit}. The rows are written with a single
+ * insert, 100 two night stays per property, every thousandth one two nights
+ * longer so that it overlaps the next one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuditBenchmark {
+
+    @Param({"1000000"})
+    public long bookings;
+
+    private QuarkusApplication application;
+
+    @Setup
+    public void setup() throws Exception {
+        application = QuarkusApplication.start(Map.of());
+        try(Connection connection = application.connection();
+            PreparedStatement insert = connection.prepareStatement(
+                    "insert into Booking(id, property_id, person_id, start_date, end_date, type, canceled, version)"
+                            + " select x, 1000000 + x / 100, 456,"
+                            + " dateadd(day, mod(x, 100) * 3, date '2024-01-01'),"
+                            + " dateadd(day, mod(x, 100) * 3 + case when mod(x, 1000) = 0 then 4 else 2 end, date '2024-01-01'),"
+                            + " 0, false, 0 from system_range(1, ?)")){
+            insert.setLong(1, bookings);
+            insert.executeUpdate();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        application.close();
+    }
+
+    @Benchmark
+    public HttpResponse<String> audit() throws Exception {
+        return application.send(application.request(AdminResource.ROOT_PATH + AdminResource.AUDIT_PATH)
+                .POST(HttpRequest.BodyPublishers.noBody()), 200);
+    }
+}
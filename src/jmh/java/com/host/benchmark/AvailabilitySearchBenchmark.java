@@ -0,0 +1,65 @@
+package com.host.benchmark;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.engine.ConflictEngine;
+import com.host.index.NightIndex;
+import com.host.model.BookingSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Properties free for a week out of {@code properties}, each booked every
+ * third week of the year. {@code perProperty} asks the conflict engine once
+ * per property, the way a single property lookup would have to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AvailabilitySearchBenchmark {
+    private static final int DAYS = 365;
+    private static final int NIGHTS = 7;
+
+    @Param({"1000", "50000"})
+    public int properties;
+
+    private final NightIndex index = new NightIndex();
+    private final ConflictEngine engine = new ConflictEngine();
+    private long origin;
+
+    @Setup
+    public void setup(){
+        origin = LocalDate.of(2024, 1, 1).toEpochDay();
+        long id = 0;
+        for(long propertyId = 0; propertyId < properties; propertyId++){
+            for(int start = (int) (propertyId % (3 * NIGHTS)); start + NIGHTS <= DAYS; start += 3 * NIGHTS){
+                index.add(new BookingSnapshot(id, propertyId, 456L, LocalDate.ofEpochDay(origin + start),
+                        LocalDate.ofEpochDay(origin + start + NIGHTS), BookingTypeEnum.BOOKING, false, 0L));
+                engine.add(propertyId, id++, (int) origin + start, (int) origin + start + NIGHTS);
+            }
+        }
+    }
+
+    @Benchmark
+    public long[] nightIndex(){
+        final long from = origin + ThreadLocalRandom.current().nextInt(DAYS - NIGHTS);
+        return index.free(from, from + NIGHTS, null);
+    }
+
+    @Benchmark
+    public int perProperty(){
+        final int from = (int) origin + ThreadLocalRandom.current().nextInt(DAYS - NIGHTS);
+        int free = 0;
+        for(long propertyId = 0; propertyId < properties; propertyId++){
+            if(!engine.overlaps(propertyId, from, from + NIGHTS)){
+                free++;
+            }
+        }
+        return free;
+    }
+}
@@ -0,0 +1,71 @@
+package com.host.benchmark;
+
+import com.host.BookingResource;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bookings created per second through {@code POST /booking/} one by one
+ * versus a single {@code POST /booking/batch}. Every call books two night
+ * stays back to back, 100 per property, on properties no earlier call used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class BatchCreateBenchmark {
+    private static final int BOOKINGS = 1_000;
+    private static final int BOOKINGS_PER_PROPERTY = 100;
+    private static final LocalDate FIRST_START = LocalDate.of(2024, 1, 1);
+
+    private QuarkusApplication application;
+    private long firstPropertyId;
+
+    @Setup
+    public void setup() throws Exception {
+        application = QuarkusApplication.start(Map.of());
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        application.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS)
+    public void createOneByOne() throws Exception {
+        final long propertyOffset = nextPropertyOffset();
+        for(int i = 0; i < BOOKINGS; i++){
+            application.send(application.json(BookingResource.ROOT_PATH, "POST", booking(propertyOffset, i)), 201);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS)
+    public void createInBatch() throws Exception {
+        final long propertyOffset = nextPropertyOffset();
+        final StringJoiner batch = new StringJoiner(",", "[", "]");
+        for(int i = 0; i < BOOKINGS; i++){
+            batch.add(booking(propertyOffset, i));
+        }
+        application.send(application.json(BookingResource.ROOT_PATH + BookingResource.BATCH_PATH, "POST",
+                batch.toString()), 200);
+    }
+
+    private long nextPropertyOffset(){
+        final long propertyOffset = firstPropertyId;
+        firstPropertyId += BOOKINGS / BOOKINGS_PER_PROPERTY;
+        return propertyOffset;
+    }
+
+    private static String booking(final long propertyOffset, final int index){
+        final LocalDate start = FIRST_START.plusDays(2L * (index % BOOKINGS_PER_PROPERTY));
+        return Bookings.json(propertyOffset + index / BOOKINGS_PER_PROPERTY, index, start, start.plusDays(2));
+    }
+}
@@ -0,0 +1,31 @@
+package com.host.benchmark;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.model.Booking;
+
+import java.time.LocalDate;
+
+final class Bookings {
+    private static final String JSON = "{\"" + Booking.PROPERTY_ID + "\": %d, \"" + Booking.PERSON_ID + "\": %d, \""
+            + Booking.START + "\": \"%s\", \"" + Booking.END + "\": \"%s\", \"type\": \"BOOKING\"}";
+
+    private Bookings(){
+    }
+
+    static Booking booking(final LocalDate start, final LocalDate end){
+        final Booking booking = new Booking();
+        booking.propertyId = 555L;
+        booking.personId = 456L;
+        booking.start = start;
+        booking.end = end;
+        booking.type = BookingTypeEnum.BOOKING;
+        return booking;
+    }
+
+    /**
+     * The body of {@code POST /booking/} for the booking.
+     */
+    static String json(final long propertyId, final long personId, final LocalDate start, final LocalDate end){
+        return String.format(JSON, propertyId, personId, start, end);
+    }
+}
@@ -0,0 +1,51 @@
+package com.host.benchmark;
+
+import com.host.engine.ConflictEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict checks on the in-memory engine with the same layout as
+ * {@link OverlapQueryBenchmark}. Run with {@code -prof gc} to see the
+ * allocation rate, expected to be zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConflictEngineBenchmark {
+    private static final int BOOKINGS_PER_PROPERTY = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private final ConflictEngine engine = new ConflictEngine();
+    private final int[] windows = new int[2 * BOOKINGS_PER_PROPERTY];
+    private int properties;
+
+    @Setup
+    public void setup(){
+        properties = Math.max(1, rows / BOOKINGS_PER_PROPERTY);
+        for(int i = 0; i < rows; i++){
+            final int start = 3 * (i % BOOKINGS_PER_PROPERTY);
+            engine.add(i / BOOKINGS_PER_PROPERTY, i, start, start + 2);
+        }
+    }
+
+    @Benchmark
+    public long firstConflict(){
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int start = random.nextInt(3 * BOOKINGS_PER_PROPERTY);
+        return engine.firstConflict(random.nextInt(properties), start, start + 1, ConflictEngine.NONE);
+    }
+
+    @Benchmark
+    public int freeWindows(){
+        return engine.freeWindows(ThreadLocalRandom.current().nextInt(properties),
+                0, 3 * BOOKINGS_PER_PROPERTY, 1, windows);
+    }
+}
@@ -0,0 +1,37 @@
+package com.host.benchmark;
+
+import com.host.model.Booking;
+import com.host.validator.DateAfterValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DateAfterValidatorBenchmark {
+
+    private final DateAfterValidator validator = new DateAfterValidator();
+    private Booking valid;
+    private Booking invalid;
+
+    @Setup
+    public void setup(){
+        valid = Bookings.booking(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 20));
+        invalid = Bookings.booking(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 15));
+    }
+
+    @Benchmark
+    public boolean validBooking(){
+        return validator.isValid(valid, null);
+    }
+
+    @Benchmark
+    public boolean invalidBooking(){
+        return validator.isValid(invalid, null);
+    }
+}
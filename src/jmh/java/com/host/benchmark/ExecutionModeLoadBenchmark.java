@@ -0,0 +1,70 @@
+package com.host.benchmark;
+
+import com.host.BookingResource;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Time for 10k clients to create, read and delete a booking at once, in
+ * each execution mode; {@code 3 * clients} requests per operation. The
+ * worker pool is kept small in every mode so that it, and not the CPU, is
+ * the first thing to run out. Each client holds a connection, so the open
+ * file limit must allow two per client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExecutionModeLoadBenchmark {
+    private static final String WORKER_THREADS = "16";
+    private static final LocalDate FIRST_START = LocalDate.of(2024, 1, 1);
+
+    @Param({"worker", "pool", "virtual"})
+    public String mode;
+
+    @Param({"10000"})
+    public int clients;
+
+    private QuarkusApplication application;
+    private int round;
+
+    @Setup
+    public void setup() throws Exception {
+        application = QuarkusApplication.start(Map.of("booking.execution.mode", mode,
+                "quarkus.thread-pool.max-threads", WORKER_THREADS));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        application.close();
+    }
+
+    @Benchmark
+    public void createReadDelete(){
+        final LocalDate start = FIRST_START.plusDays(3L * round++);
+        CompletableFuture.allOf(IntStream.range(0, clients)
+                .mapToObj(client -> client(client, start))
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Each client books its own property, so no request is rejected for an
+     * overlap and every one of them reaches the database.
+     */
+    private CompletableFuture<?> client(final int client, final LocalDate start){
+        return application.sendAsync(application.json(BookingResource.ROOT_PATH, "POST",
+                        Bookings.json(client, client, start, start.plusDays(2))), 201)
+                .thenCompose(created -> {
+                    final String location = created.headers().firstValue("Location").orElseThrow();
+                    return application.sendAsync(application.request(location).GET(), 200)
+                            .thenCompose(read -> application.sendAsync(application.request(location).DELETE(), 204));
+                });
+    }
+}
@@ -0,0 +1,86 @@
+package com.host.benchmark;
+
+import com.host.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SQL Hibernate runs for {@link Booking#OVERLAP_DATES_BY_PROPERTY_QUERY},
+ * on an in-memory H2 table shaped and indexed like the Booking one, at
+ * several table sizes. Half of the lookups hit an existing booking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OverlapQueryBenchmark {
+    private static final int BOOKINGS_PER_PROPERTY = 100;
+    private static final LocalDate FIRST_START = LocalDate.of(2020, 1, 1);
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement overlapQuery;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:overlap" + rows + ";DB_CLOSE_DELAY=-1");
+        try(Statement statement = connection.createStatement()){
+            statement.execute("create table Booking (id bigint not null primary key, canceled boolean not null," +
+                    " end_date date, person_id bigint, property_id bigint, start_date date, type tinyint)");
+            statement.execute("create index " + Booking.OVERLAP_INDEX +
+                    " on Booking (property_id, canceled, start_date, end_date)");
+        }
+        try(PreparedStatement insert = connection.prepareStatement("insert into Booking" +
+                " (id, canceled, end_date, person_id, property_id, start_date, type) values (?, false, ?, ?, ?, ?, 0)")){
+            for(int i = 0; i < rows; i++){
+                final LocalDate start = FIRST_START.plusDays(3L * (i % BOOKINGS_PER_PROPERTY));
+                insert.setLong(1, i);
+                insert.setDate(2, Date.valueOf(start.plusDays(2)));
+                insert.setLong(3, i);
+                insert.setLong(4, i / BOOKINGS_PER_PROPERTY);
+                insert.setDate(5, Date.valueOf(start));
+                insert.addBatch();
+                if(i % 10_000 == 0){
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        overlapQuery = connection.prepareStatement("select id from Booking where property_id = ? and canceled = false" +
+                " and start_date < ? and end_date > ? fetch first 1 rows only");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try(Statement statement = connection.createStatement()){
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean findIfDateIsBooked() throws SQLException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final LocalDate start = FIRST_START.plusDays(random.nextInt(3 * BOOKINGS_PER_PROPERTY));
+        overlapQuery.setLong(1, random.nextInt(Math.max(1, rows / BOOKINGS_PER_PROPERTY)));
+        overlapQuery.setDate(2, Date.valueOf(start.plusDays(1)));
+        overlapQuery.setDate(3, Date.valueOf(start));
+        try(ResultSet found = overlapQuery.executeQuery()){
+            return found.next();
+        }
+    }
+}
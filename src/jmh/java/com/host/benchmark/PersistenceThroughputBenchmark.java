@@ -0,0 +1,67 @@
+package com.host.benchmark;
+
+import com.host.BookingResource;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bookings created per second through {@code POST /booking/} by 16
+ * concurrent writers, in each persistence mode: JPA, JPA with group
+ * commit, JPA under the {@code perf} profile and the write-ahead log.
+ * Every writer books its own property so that no write is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class PersistenceThroughputBenchmark {
+    private static final LocalDate FIRST_START = LocalDate.of(2024, 1, 1);
+
+    @Param({"jpa", "jpa-group", "jpa-perf", "wal"})
+    public String persistence;
+
+    private final AtomicLong propertyIds = new AtomicLong();
+    private QuarkusApplication application;
+
+    @Setup
+    public void setup() throws Exception {
+        application = QuarkusApplication.start(switch(persistence){
+            case "jpa-group" -> Map.of("booking.persistence", "jpa", "booking.group-commit.enabled", "true");
+            case "jpa-perf" -> Map.of("booking.persistence", "jpa", "quarkus.profile", "perf");
+            case "wal" -> Map.of("booking.persistence", "wal",
+                    "booking.wal.directory", "target/wal-benchmark-" + System.nanoTime());
+            default -> Map.of("booking.persistence", "jpa");
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        application.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        long propertyId;
+        int written;
+
+        @Setup
+        public void setup(final PersistenceThroughputBenchmark benchmark){
+            propertyId = benchmark.propertyIds.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public HttpResponse<String> create(final Writer writer) throws Exception {
+        final LocalDate start = FIRST_START.plusDays(2L * writer.written++);
+        return application.send(application.json(BookingResource.ROOT_PATH, "POST",
+                Bookings.json(writer.propertyId, 456L, start, start.plusDays(1))), 201);
+    }
+}
@@ -0,0 +1,148 @@
+package com.host.benchmark;
+
+import org.h2.tools.Server;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The packaged application ({@code target/quarkus-app}) running in its own
+ * JVM with the given configuration, on an in-memory H2 database served over
+ * TCP from the benchmark JVM, as the dev services of the tests do.
+ * Benchmarks talk to it over HTTP and seed the database through
+ * {@link #connection()}. {@code mvn -Pbenchmark verify} packages the
+ * application before it runs the benchmarks; its output goes to
+ * {@code target/benchmark-application.log}.
+ */
+public final class QuarkusApplication implements AutoCloseable {
+    private static final Path RUNNER = Path.of("target", "quarkus-app", "quarkus-run.jar");
+    private static final File LOG = Path.of("target", "benchmark-application.log").toFile();
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Server database;
+    private final String jdbcUrl;
+    private final Process process;
+    private final URI uri;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private QuarkusApplication(final Server database, final String jdbcUrl, final Process process, final URI uri){
+        this.database = database;
+        this.jdbcUrl = jdbcUrl;
+        this.process = process;
+        this.uri = uri;
+    }
+
+    /**
+     * Starts the application with {@code config} on top of its
+     * {@code application.properties} and returns once it answers requests.
+     */
+    public static QuarkusApplication start(final Map<String, String> config) throws IOException, SQLException, InterruptedException {
+        final Server database = Server.createTcpServer("-tcpPort", Integer.toString(freePort()), "-ifNotExists").start();
+        final String jdbcUrl = "jdbc:h2:tcp://localhost:" + database.getPort() + "/mem:benchmark;DB_CLOSE_DELAY=-1";
+        final int port = freePort();
+        final List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dquarkus.http.port=" + port);
+        command.add("-Dquarkus.datasource.jdbc.url=" + jdbcUrl);
+        command.add("-Dquarkus.hibernate-orm.database.generation=drop-and-create");
+        config.forEach((name, value) -> command.add("-D" + name + "=" + value));
+        command.add("-jar");
+        command.add(RUNNER.toString());
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(LOG))
+                .start();
+        final QuarkusApplication application = new QuarkusApplication(database, jdbcUrl, process,
+                URI.create("http://localhost:" + port + "/"));
+        application.awaitStarted();
+        return application;
+    }
+
+    /**
+     * A request to {@code path}, relative to the root of the application, or
+     * to a {@code Location} it answered.
+     */
+    public HttpRequest.Builder request(final String path){
+        return HttpRequest.newBuilder(uri.resolve(path));
+    }
+
+    public HttpRequest.Builder json(final String path, final String method, final String body){
+        return request(path)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    /**
+     * Fails when the application answers anything but {@code expectedStatus},
+     * so that a benchmark never reports the speed of an error.
+     */
+    public HttpResponse<String> send(final HttpRequest.Builder request, final int expectedStatus) throws IOException, InterruptedException {
+        return expect(client.send(request.build(), HttpResponse.BodyHandlers.ofString()), expectedStatus);
+    }
+
+    public CompletableFuture<HttpResponse<String>> sendAsync(final HttpRequest.Builder request, final int expectedStatus){
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> expect(response, expectedStatus));
+    }
+
+    public Connection connection() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if(!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)){
+            process.destroyForcibly();
+        }
+        database.stop();
+    }
+
+    private void awaitStarted() throws InterruptedException {
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while(System.nanoTime() < deadline){
+            if(!process.isAlive()){
+                database.stop();
+                throw new IllegalStateException("The application exited with " + process.exitValue() + ", see " + LOG);
+            }
+            try {
+                client.send(request("q/metrics").build(), HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch(final IOException e){
+                Thread.sleep(100);
+            }
+        }
+        close();
+        throw new IllegalStateException("The application did not start within " + STARTUP_TIMEOUT + ", see " + LOG);
+    }
+
+    private static HttpResponse<String> expect(final HttpResponse<String> response, final int expectedStatus){
+        if(response.statusCode() != expectedStatus){
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri() + " answered "
+                    + response.statusCode() + " instead of " + expectedStatus + ": " + response.body());
+        }
+        return response;
+    }
+
+    private static int freePort() throws IOException {
+        try(ServerSocket socket = new ServerSocket(0)){
+            return socket.getLocalPort();
+        }
+    }
+}
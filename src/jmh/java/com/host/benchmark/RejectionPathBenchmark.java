@@ -0,0 +1,133 @@
+package com.host.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.host.exception.ConstraintViolationStructure;
+import com.host.exception.OverlapMessageWrapper;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.model.Booking;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A refused write from the throw to the response body. {@code depth} is the
+ * number of frames between the throw and the resource, which is what filling
+ * in a stack trace costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RejectionPathBenchmark {
+
+    @Param({"20", "100"})
+    public int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Booking alreadyBooked;
+    private Booking triedToBook;
+    private Booking invalid;
+
+    @Setup
+    public void setup(){
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        alreadyBooked = Bookings.booking(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 20));
+        triedToBook = Bookings.booking(LocalDate.of(2024, 1, 18), LocalDate.of(2024, 1, 22));
+        invalid = Bookings.booking(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 15));
+    }
+
+    @TearDown
+    public void tearDown(){
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public byte[] conflict() throws JsonProcessingException {
+        try {
+            throwAt(depth, () -> new PropertyAlreadyBookedException(alreadyBooked, triedToBook));
+        } catch(final PropertyAlreadyBookedException e){
+            return objectMapper.writeValueAsBytes(toOverlapMessageWrapper(e));
+        }
+        throw new IllegalStateException();
+    }
+
+    @Benchmark
+    public byte[] conflictWithStackTrace() throws JsonProcessingException {
+        try {
+            throwAt(depth, () -> new StackTraceConflict(alreadyBooked, triedToBook));
+        } catch(final StackTraceConflict e){
+            return objectMapper.writeValueAsBytes(toOverlapMessageWrapper(e.conflict));
+        }
+        throw new IllegalStateException();
+    }
+
+    @Benchmark
+    public byte[] invalid() throws JsonProcessingException {
+        try {
+            throwAt(depth, () -> new ConstraintViolationException(validator.validate(invalid)));
+        } catch(final ConstraintViolationException e){
+            return objectMapper.writeValueAsBytes(ConstraintViolationStructure.of(e.getConstraintViolations()));
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * The way the update used to answer: through a {@link JsonNode} first.
+     */
+    @Benchmark
+    public byte[] invalidThroughJsonNode() throws JsonProcessingException {
+        try {
+            throwAt(depth, () -> new ConstraintViolationException(validator.validate(invalid)));
+        } catch(final ConstraintViolationException e){
+            final ConstraintViolationStructure structure = ConstraintViolationStructure.of(e.getConstraintViolations());
+            return objectMapper.writeValueAsBytes(objectMapper.convertValue(structure, JsonNode.class));
+        }
+        throw new IllegalStateException();
+    }
+
+    private static void throwAt(final int depth, final Supplier<RuntimeException> exception){
+        if(depth == 0){
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    private static OverlapMessageWrapper toOverlapMessageWrapper(final PropertyAlreadyBookedException e){
+        return OverlapMessageWrapper.builder()
+                .message(e.getMessage())
+                .startBooked(e.alreadyBooked.start)
+                .endBooked(e.alreadyBooked.end)
+                .startTryToBook(e.triedToBook.start)
+                .endTryToBook(e.triedToBook.end)
+                .build();
+    }
+
+    /**
+     * The conflict as it was thrown before, with its stack trace.
+     */
+    private static final class StackTraceConflict extends RuntimeException {
+        private final PropertyAlreadyBookedException conflict;
+
+        private StackTraceConflict(final Booking alreadyBooked, final Booking triedToBook){
+            super(PropertyAlreadyBookedException.ERROR_MESSAGE);
+            this.conflict = new PropertyAlreadyBookedException(alreadyBooked, triedToBook);
+        }
+    }
+}
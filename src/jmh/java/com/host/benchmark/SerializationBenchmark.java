@@ -0,0 +1,64 @@
+package com.host.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.host.exception.OverlapMessageWrapper;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson configured as Quarkus does by default: Java time module, dates
+ * written as ISO strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private Booking booking;
+    private byte[] bookingJson;
+    private OverlapMessageWrapper overlapMessage;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        booking = Bookings.booking(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 20));
+        booking.id = 42L;
+        bookingJson = objectMapper.writeValueAsBytes(booking);
+        final Booking triedToBook = Bookings.booking(LocalDate.of(2024, 1, 18), LocalDate.of(2024, 1, 22));
+        overlapMessage = OverlapMessageWrapper.builder()
+                .message(PropertyAlreadyBookedException.ERROR_MESSAGE)
+                .startBooked(booking.start)
+                .endBooked(booking.end)
+                .startTryToBook(triedToBook.start)
+                .endTryToBook(triedToBook.end)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeBooking() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public Booking readBooking() throws IOException {
+        return objectMapper.readValue(bookingJson, Booking.class);
+    }
+
+    @Benchmark
+    public byte[] writeOverlapMessage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(overlapMessage);
+    }
+}
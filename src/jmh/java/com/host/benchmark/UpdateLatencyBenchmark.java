@@ -0,0 +1,73 @@
+package com.host.benchmark;
+
+import com.host.BookingResource;
+import com.host.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PATCH latency with the booking table holding 1k, 100k and 1M rows,
+ * created through {@code POST /booking/batch} on properties the patched
+ * booking is not on. The patches cycle through the update scenarios of
+ * {@code BookingResourceTest}: dates and person, just the start, just the
+ * end and just the person, ending where they started.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class UpdateLatencyBenchmark {
+    private static final long SEEDED_PROPERTY_OFFSET = 1_000_000_000L;
+    private static final int BOOKINGS_PER_PROPERTY = 100;
+    private static final int BOOKINGS_PER_BATCH = 10_000;
+    private static final LocalDate SEED_START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate START = LocalDate.of(2030, 1, 10);
+    private static final String[] PATCHES = {
+            "{\"" + Booking.START + "\": \"" + START.plusDays(1) + "\", \"" + Booking.END + "\": \"" + START.plusDays(6)
+                    + "\", \"" + Booking.PERSON_ID + "\": 2}",
+            "{\"" + Booking.START + "\": \"" + START + "\"}",
+            "{\"" + Booking.END + "\": \"" + START.plusDays(5) + "\"}",
+            "{\"" + Booking.PERSON_ID + "\": 1}"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private QuarkusApplication application;
+    private String location;
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        application = QuarkusApplication.start(Map.of());
+        for(int first = 0; first < rows; first += BOOKINGS_PER_BATCH){
+            final StringJoiner batch = new StringJoiner(",", "[", "]");
+            for(int i = first; i < Math.min(rows, first + BOOKINGS_PER_BATCH); i++){
+                final LocalDate start = SEED_START.plusDays(3L * (i % BOOKINGS_PER_PROPERTY));
+                batch.add(Bookings.json(SEEDED_PROPERTY_OFFSET + i / BOOKINGS_PER_PROPERTY, i, start, start.plusDays(2)));
+            }
+            application.send(application.json(BookingResource.ROOT_PATH + BookingResource.BATCH_PATH, "POST",
+                    batch.toString()), 200);
+        }
+        location = application.send(application.json(BookingResource.ROOT_PATH, "POST",
+                Bookings.json(1L, 1L, START, START.plusDays(5))), 201).headers().firstValue("Location").orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        application.close();
+    }
+
+    @Benchmark
+    public HttpResponse<String> update() throws Exception {
+        final String patch = PATCHES[next];
+        next = (next + 1) % PATCHES.length;
+        return application.send(application.json(location, "PATCH", patch), 204);
+    }
+}
@@ -0,0 +1,103 @@
+package com.host.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.host.exception.OverlapMessageWrapper;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The booking bodies in each format {@code BookingResource} speaks, with
+ * the CBOR mapper copied from the JSON one as {@code WireFormats} does.
+ * The bytes each body takes on the wire are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WireFormatBenchmark {
+    private static final int PAGE_SIZE = 100;
+    private static final TypeReference<Map<String, List<Booking>>> PAGE_TYPE = new TypeReference<>(){};
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private Booking booking;
+    private byte[] bookingBytes;
+    private OverlapMessageWrapper overlapMessage;
+    private Map<String, List<Booking>> page;
+    private byte[] pageBytes;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        final ObjectMapper json = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper = "cbor".equals(format) ? json.copyWith(new CBORFactory()) : json;
+        booking = booking(42L, LocalDate.of(2024, 1, 15));
+        bookingBytes = objectMapper.writeValueAsBytes(booking);
+        final Booking triedToBook = Bookings.booking(LocalDate.of(2024, 1, 18), LocalDate.of(2024, 1, 22));
+        overlapMessage = OverlapMessageWrapper.builder()
+                .message(PropertyAlreadyBookedException.ERROR_MESSAGE)
+                .startBooked(booking.start)
+                .endBooked(booking.end)
+                .startTryToBook(triedToBook.start)
+                .endTryToBook(triedToBook.end)
+                .build();
+        final List<Booking> bookings = new ArrayList<>(PAGE_SIZE);
+        for(int i = 0; i < PAGE_SIZE; i++){
+            bookings.add(booking(1_000_000L + i, LocalDate.of(2024, 1, 1).plusDays(i * 5L)));
+        }
+        page = Map.of("bookings", bookings);
+        pageBytes = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s bytes: booking %d, overlap message %d, page of %d bookings %d%n", format,
+                bookingBytes.length, objectMapper.writeValueAsBytes(overlapMessage).length, PAGE_SIZE, pageBytes.length);
+    }
+
+    @Benchmark
+    public byte[] writeBooking() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public Booking readBooking() throws IOException {
+        return objectMapper.readValue(bookingBytes, Booking.class);
+    }
+
+    @Benchmark
+    public byte[] writeOverlapMessage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(overlapMessage);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Map<String, List<Booking>> readPage() throws IOException {
+        return objectMapper.readValue(pageBytes, PAGE_TYPE);
+    }
+
+    private static Booking booking(final long id, final LocalDate start){
+        final Booking booking = Bookings.booking(start, start.plusDays(5));
+        booking.id = id;
+        booking.version = 3L;
+        return booking;
+    }
+}
@@ -0,0 +1,105 @@
+package com.host;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.host.cache.BookingCache;
+import com.host.dto.ArchiveWrapper;
+import com.host.dto.AuditSummaryWrapper;
+import com.host.exception.MessageWrapper;
+import com.host.service.BookingArchiver;
+import com.host.service.BookingAuditor;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import lombok.SneakyThrows;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+@Path(AdminResource.ROOT_PATH)
+@Produces(MediaType.APPLICATION_JSON)
+public class AdminResource {
+
+    public static final String ROOT_PATH = "/admin/";
+    public static final String CACHE_PATH = "cache";
+    public static final String ARCHIVE_PATH = "archive";
+    public static final String BEFORE = "before";
+    public static final String INVALID_BEFORE = "Invalid archive date 'before', expected a date before today";
+    public static final String AUDIT_PATH = "audit";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    @Inject
+    BookingCache bookingCache;
+    @Inject
+    BookingArchiver bookingArchiver;
+    @Inject
+    BookingAuditor bookingAuditor;
+    @Inject
+    ObjectMapper objectMapper;
+
+    @GET
+    @Path(CACHE_PATH)
+    public Response cache() {
+        return Response.ok(bookingCache.statistics()).build();
+    }
+
+    /**
+     * Archives the stays ending on or before {@code before}, which must be in
+     * the past.
+     */
+    @POST
+    @Path(ARCHIVE_PATH)
+    public Response archive(@QueryParam(BEFORE) final String before) {
+        final LocalDate beforeDate;
+        try {
+            beforeDate = Objects.isNull(before) ? null : LocalDate.parse(before);
+        } catch(final DateTimeParseException e){
+            return returnBadRequestForInvalidBefore();
+        }
+        if(Objects.isNull(beforeDate) || !beforeDate.isBefore(LocalDate.now())){
+            return returnBadRequestForInvalidBefore();
+        }
+        return Response.ok(new ArchiveWrapper(beforeDate, bookingArchiver.archive(beforeDate))).build();
+    }
+
+    /**
+     * Audits the booking table, writing a JSON line per finding as soon as it
+     * is found and a summary line once every booking was checked.
+     */
+    @POST
+    @Path(AUDIT_PATH)
+    @Produces(APPLICATION_NDJSON)
+    public Response audit() {
+        final StreamingOutput report = output -> {
+            try(JsonGenerator generator = objectMapper.getFactory().createGenerator(output)){
+                final AuditSummaryWrapper summary = bookingAuditor.audit(finding -> writeLine(generator, finding));
+                writeLine(generator, summary);
+            }
+        };
+        return Response.ok(report).build();
+    }
+
+    /**
+     * Findings come from every audit thread, a line at a time.
+     */
+    @SneakyThrows
+    private static void writeLine(final JsonGenerator generator, final Object line) {
+        synchronized(generator){
+            generator.writeObject(line);
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+    }
+
+    private static Response returnBadRequestForInvalidBefore() {
+        return Response.status(Response.Status.BAD_REQUEST)
+            .entity(new MessageWrapper(INVALID_BEFORE))
+            .build();
+    }
+}
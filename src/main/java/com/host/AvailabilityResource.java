@@ -0,0 +1,48 @@
+package com.host;
+
+import com.host.dto.AvailabilitySearchCriteria;
+import com.host.dto.FreePropertiesWrapper;
+import com.host.exception.MessageWrapper;
+import com.host.index.NightIndex;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+@Path(AvailabilityResource.ROOT_PATH)
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class AvailabilityResource {
+
+    public static final String ROOT_PATH = "/availability/";
+    public static final String SEARCH_PATH = "search";
+    @Inject
+    NightIndex nightIndex;
+    @ConfigProperty(name = "booking.availability.max-days", defaultValue = "731")
+    long availabilityMaxDays;
+
+    /**
+     * Properties free every night of the range, among {@code property_ids}
+     * or, without them, among every property with a booking on record.
+     * Answered from memory with one union of the nights of the range.
+     */
+    @POST
+    @Path(SEARCH_PATH)
+    public Response search(@Valid @NotNull final AvailabilitySearchCriteria criteria) {
+        if(!criteria.from.isBefore(criteria.to) || ChronoUnit.DAYS.between(criteria.from, criteria.to) > availabilityMaxDays){
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new MessageWrapper(String.format(PropertyResource.INVALID_RANGE, availabilityMaxDays)))
+                .build();
+        }
+        final long[] candidates = Objects.isNull(criteria.propertyIds) ? null :
+                criteria.propertyIds.stream().mapToLong(Long::longValue).toArray();
+        final long[] free = nightIndex.free(criteria.from.toEpochDay(), criteria.to.toEpochDay(), candidates);
+        return Response.ok(new FreePropertiesWrapper(criteria.from, criteria.to, free)).build();
+    }
+}
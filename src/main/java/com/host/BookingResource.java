@@ -1,117 +1,577 @@
 package com.host;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.host.dto.BatchItemResult;
+import com.host.dto.BookingSearchCriteria;
 import com.host.exception.*;
+import com.host.metrics.BookingMetrics;
 import com.host.model.Booking;
+import com.host.model.BookingSnapshot;
+import com.host.provider.WireFormats;
+import com.host.service.BookingExecutor;
 import com.host.service.BookingService;
+import com.host.service.IdempotencyCache;
+import com.host.service.ReplicaBookingReader;
+import io.micrometer.core.annotation.Timed;
 import jakarta.inject.Inject;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.Variant;
 import lombok.SneakyThrows;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Path(BookingResource.ROOT_PATH)
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR})
+@Consumes({MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR})
 public class BookingResource {
 
     public static final String ID = "id";
     public static final String ID_PATH_PARAM = "{id}";
     public static final String ROOT_PATH = "/booking/";
+    public static final String BATCH_PATH = "batch";
+    public static final String BATCH_ARRAY_EXPECTED = "Expected an array of bookings";
+    public static final String BATCH_OBJECT_EXPECTED = "Expected a booking object";
+    public static final String BATCH_TRAILING_CONTENT = "Unexpected content after the array of bookings";
+    public static final String FROM = "from";
+    public static final String TO = "to";
+    public static final String CANCELED = "canceled";
+    public static final String CURSOR = "cursor";
+    public static final String LIMIT = "limit";
+    public static final String BOOKINGS = "bookings";
+    public static final String NEXT_CURSOR = "next_cursor";
+    public static final String CURSOR_SEPARATOR = "_";
+    public static final String INVALID_SEARCH_PARAMETER = "Invalid search parameter '%s'";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key already used for a different booking";
+    public static final int UNPROCESSABLE_CONTENT = 422;
+    public static final String ANY_ENTITY_TAG = "*";
+    public static final String ENTITY_TAG_SEPARATOR = ",";
+    public static final String WEAK_ENTITY_TAG_PREFIX = "W/";
+    public static final String ENTITY_TAG_QUOTE = "\"";
+    public static final String PRIMARY_PIN_COOKIE = "primary-pin";
     @Inject
     BookingService bookingService;
     @Inject
-    ObjectMapper objectMapper;
+    WireFormats wireFormats;
+    @Inject
+    Validator validator;
+    @Inject
+    BookingMetrics bookingMetrics;
+    @Inject
+    BookingExecutor bookingExecutor;
+    @Inject
+    IdempotencyCache idempotencyCache;
+    @Inject
+    ReplicaBookingReader replicaBookingReader;
+    @ConfigProperty(name = "booking.batch.chunk-size", defaultValue = "500")
+    int batchChunkSize;
+    @ConfigProperty(name = "booking.search.max-limit", defaultValue = "10000")
+    int searchMaxLimit;
+    @ConfigProperty(name = "booking.replica.enabled", defaultValue = "false")
+    boolean replicaEnabled;
+    @ConfigProperty(name = "booking.replica.pin-window", defaultValue = "5s")
+    Duration replicaPinWindow;
 
+    @Timed(value = BookingMetrics.REQUESTS, extraTags = {BookingMetrics.OPERATION_TAG, "create"},
+            percentiles = {0.5, 0.99, 0.999}, histogram = true)
     @POST
-    public Response create(@Valid final Booking booking) {
-        try{
-            bookingService.create(booking);
-            final URI bookingUri = UriBuilder.fromPath(ROOT_PATH+booking.id).build();
-            return Response.created(bookingUri).build();
-        } catch(final PropertyAlreadyBookedException e){
-            return returnBadRequestForProperyAlreadyBooked(e);
+    public CompletionStage<Response> create(@HeaderParam(IDEMPOTENCY_KEY) final String idempotencyKey,
+                                @Valid final Booking booking) {
+        if(Objects.isNull(idempotencyKey)){
+            return createBooking(booking);
         }
+        return createIdempotent(idempotencyKey, booking);
+    }
+
+    /**
+     * Only the first request with the key creates the booking. Requests
+     * repeating it get the location and tag of that booking once it is
+     * created, or run themselves if it was not. Reusing the key for another
+     * booking is answered with 422.
+     */
+    private CompletionStage<Response> createIdempotent(final String idempotencyKey, final Booking booking) {
+        final BookingSnapshot request = BookingSnapshot.of(booking);
+        final IdempotencyCache.Entry entry = new IdempotencyCache.Entry(request);
+        final IdempotencyCache.Entry earlier = idempotencyCache.putIfAbsent(idempotencyKey, entry);
+        if(Objects.nonNull(earlier)){
+            if(!earlier.request.equals(request)){
+                return CompletableFuture.completedFuture(Response.status(UNPROCESSABLE_CONTENT)
+                    .entity(new MessageWrapper(IDEMPOTENCY_KEY_REUSED))
+                    .build());
+            }
+            return earlier.created
+                .thenApply(created -> pinToPrimary(Response.created(created.location()))
+                    .tag(entityTag(created.version()))
+                    .header(IDEMPOTENT_REPLAYED, true)
+                    .build())
+                .exceptionallyCompose(e -> createIdempotent(idempotencyKey, booking));
+        }
+        return createBooking(booking)
+            .whenComplete((response, failure) -> {
+                if(Objects.nonNull(failure)){
+                    idempotencyCache.release(idempotencyKey, entry, failure);
+                } else if(response.getStatus() == Response.Status.CREATED.getStatusCode()){
+                    final EntityTag tag = response.getEntityTag();
+                    entry.created.complete(new IdempotencyCache.Created(response.getLocation(),
+                        Objects.isNull(tag) ? null : Long.valueOf(tag.getValue())));
+                } else {
+                    idempotencyCache.release(idempotencyKey, entry, new CancellationException());
+                }
+            });
+    }
+
+    private CompletionStage<Response> createBooking(final Booking booking) {
+        return execute(() -> {
+            try{
+                bookingService.create(booking);
+                final URI bookingUri = UriBuilder.fromPath(ROOT_PATH+booking.id).build();
+                return pinToPrimary(Response.created(bookingUri)).tag(entityTag(booking)).build();
+            } catch(final PropertyAlreadyBookedException e){
+                return returnBadRequestForProperyAlreadyBooked(e);
+            }
+        });
     }
 
+    /**
+     * Reads the array one element at a time and creates the valid bookings in
+     * chunks of {@code booking.batch.chunk-size}, one transaction per chunk.
+     * Answers with the outcome of every element, in submission order; an
+     * element that is not an object gets a 400 of its own. Chunks written
+     * before malformed JSON, or before content following the array, are
+     * kept. The array is read in the format of the request, JSON or CBOR.
+     */
+    @Timed(value = BookingMetrics.REQUESTS, extraTags = {BookingMetrics.OPERATION_TAG, "create_batch"},
+            percentiles = {0.5, 0.99, 0.999}, histogram = true)
     @SneakyThrows
-    @PATCH
-    @Path(ID_PATH_PARAM)
-    public Response update(@PathParam(ID) final Long id,
-                           final Booking toUpdateBooking) {
-        try {
-          bookingService.update(id, toUpdateBooking);
-        } catch(final PropertyAlreadyBookedException e){
-            return returnBadRequestForProperyAlreadyBooked(e);
-        }  catch(final ResourceDoesNotExistException e){
-            return returnBadRequestWithExceptionMessage(e);
-        } catch(final RuntimeException e){
-            if(e.getCause()!=null && e.getCause().getCause() instanceof ConstraintViolationException constraintViolation){
-                final Set<ConstraintViolation<?>> violations = constraintViolation.getConstraintViolations();
-                final ConstraintViolationStructure constraintViolationStructure = new ConstraintViolationStructure();
-                final List<ConstraintViolationStructure.ParameterViolation> parameterViolations = new ArrayList<>();
-                for (ConstraintViolation<?> violation : violations) {
-                    parameterViolations.add(new ConstraintViolationStructure.ParameterViolation(violation));
+    @POST
+    @Path(BATCH_PATH)
+    public Response createAll(@HeaderParam(HttpHeaders.CONTENT_TYPE) final MediaType contentType,
+                              final InputStream payload) {
+        final ObjectMapper objectMapper = wireFormats.of(contentType);
+        final List<BatchItemResult> results = new ArrayList<>();
+        try(JsonParser parser = objectMapper.getFactory().createParser(payload)){
+            if(parser.nextToken() != JsonToken.START_ARRAY){
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new MessageWrapper(BATCH_ARRAY_EXPECTED))
+                    .build();
+            }
+            final List<Booking> chunk = new ArrayList<>(batchChunkSize);
+            final List<Integer> chunkIndexes = new ArrayList<>(batchChunkSize);
+            int index = 0;
+            for(JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()){
+                if(Objects.isNull(token)){
+                    return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new MessageWrapper(BATCH_ARRAY_EXPECTED))
+                        .build();
                 }
-                constraintViolationStructure.parameterViolations = parameterViolations;
-                var violationsJson = objectMapper.convertValue(constraintViolationStructure, JsonNode.class);
+                if(token != JsonToken.START_OBJECT){
+                    parser.skipChildren();
+                    results.add(BatchItemResult.builder()
+                        .index(index++)
+                        .status(Response.Status.BAD_REQUEST.getStatusCode())
+                        .error(new MessageWrapper(BATCH_OBJECT_EXPECTED))
+                        .build());
+                    continue;
+                }
+                final Booking booking = objectMapper.readValue(parser, Booking.class);
+                final Set<ConstraintViolation<Booking>> violations = validator.validate(booking);
+                if(violations.isEmpty()){
+                    chunk.add(booking);
+                    chunkIndexes.add(index);
+                } else {
+                    results.add(BatchItemResult.builder()
+                        .index(index)
+                        .status(Response.Status.BAD_REQUEST.getStatusCode())
+                        .error(ConstraintViolationStructure.of(violations))
+                        .build());
+                }
+                if(chunk.size() == batchChunkSize){
+                    createChunk(chunk, chunkIndexes, results);
+                }
+                index++;
+            }
+            if(Objects.nonNull(parser.nextToken())){
                 return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(violationsJson)
+                    .entity(new MessageWrapper(BATCH_TRAILING_CONTENT))
                     .build();
             }
+            createChunk(chunk, chunkIndexes, results);
+        } catch(final JsonProcessingException e){
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new MessageWrapper(e.getOriginalMessage()))
+                .build();
         }
-        return Response.noContent().build();
+        results.sort(Comparator.comparingInt(result -> result.index));
+        return pinToPrimary(Response.ok(results)).build();
     }
 
-    private static Response returnBadRequestForProperyAlreadyBooked(PropertyAlreadyBookedException e) {
-        var overlapMessageWrapper = OverlapMessageWrapper.builder()
+    private void createChunk(final List<Booking> chunk, final List<Integer> chunkIndexes,
+                             final List<BatchItemResult> results) {
+        if(chunk.isEmpty()){
+            return;
+        }
+        final List<PropertyAlreadyBookedException> conflicts = bookingService.createAll(chunk);
+        for(int i = 0; i < chunk.size(); i++){
+            final PropertyAlreadyBookedException conflict = conflicts.get(i);
+            final BatchItemResult.BatchItemResultBuilder result = BatchItemResult.builder().index(chunkIndexes.get(i));
+            if(conflict == null){
+                result.status(Response.Status.CREATED.getStatusCode())
+                    .location(ROOT_PATH + chunk.get(i).id);
+            } else {
+                bookingMetrics.alreadyBooked(conflict.triedToBook.type);
+                result.status(Response.Status.BAD_REQUEST.getStatusCode())
+                    .error(toOverlapMessageWrapper(conflict));
+            }
+            results.add(result.build());
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    /**
+     * Applies the patch, only if the booking is still at the version of the
+     * {@code If-Match} tag when one is sent. {@code If-Match} takes {@code *}
+     * or a single tag; anything else can never match and gets 412.
+     */
+    @Timed(value = BookingMetrics.REQUESTS, extraTags = {BookingMetrics.OPERATION_TAG, "update"},
+            percentiles = {0.5, 0.99, 0.999}, histogram = true)
+    @PATCH
+    @Path(ID_PATH_PARAM)
+    public CompletionStage<Response> update(@PathParam(ID) final Long id,
+                                @HeaderParam(HttpHeaders.IF_MATCH) final String ifMatch,
+                                final Booking toUpdateBooking) {
+        if(Objects.nonNull(ifMatch) && !ANY_ENTITY_TAG.equals(ifMatch.trim())){
+            final Long version = parseVersion(ifMatch);
+            if(Objects.isNull(version)){
+                return CompletableFuture.completedFuture(Response.status(Response.Status.PRECONDITION_FAILED).build());
+            }
+            toUpdateBooking.version = version;
+        }
+        return execute(() -> {
+            try {
+              bookingService.update(id, toUpdateBooking);
+            } catch(final BookingVersionMismatchException e){
+                return Response.status(Response.Status.PRECONDITION_FAILED)
+                    .tag(entityTag(e.currentVersion))
+                    .entity(new MessageWrapper(e.getMessage()))
+                    .build();
+            } catch(final PropertyAlreadyBookedException e){
+                return returnBadRequestForProperyAlreadyBooked(e);
+            }  catch(final ResourceDoesNotExistException e){
+                return returnBadRequestWithExceptionMessage(e);
+            } catch(final ConstraintViolationException e){
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ConstraintViolationStructure.of(e.getConstraintViolations()))
+                    .build();
+            }
+            return pinToPrimary(Response.noContent()).build();
+        });
+    }
+
+    private Response returnBadRequestForProperyAlreadyBooked(PropertyAlreadyBookedException e) {
+        bookingMetrics.alreadyBooked(e.triedToBook.type);
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(toOverlapMessageWrapper(e))
+                .build();
+    }
+
+    private static OverlapMessageWrapper toOverlapMessageWrapper(PropertyAlreadyBookedException e) {
+        return OverlapMessageWrapper.builder()
                 .message(e.getMessage())
                 .endBooked(e.alreadyBooked.end)
                 .startBooked(e.alreadyBooked.start)
                 .startTryToBook(e.triedToBook.start)
                 .endTryToBook(e.triedToBook.end)
                 .build();
-        return Response.status(Response.Status.BAD_REQUEST)
-                .entity(overlapMessageWrapper)
-                .build();
     }
 
+    @Timed(value = BookingMetrics.REQUESTS, extraTags = {BookingMetrics.OPERATION_TAG, "delete"},
+            percentiles = {0.5, 0.99, 0.999}, histogram = true)
     @DELETE
     @Path(ID_PATH_PARAM)
-    public Response delete(@PathParam(ID) final Long id) {
-        try{
-            bookingService.remove(id);
-            return Response.noContent().build();
-        }  catch(final ResourceDoesNotExistException e){
-            return returnBadRequestWithExceptionMessage(e);
+    public CompletionStage<Response> delete(@PathParam(ID) final Long id) {
+        return execute(() -> {
+            try{
+                bookingService.remove(id);
+                return pinToPrimary(Response.noContent()).build();
+            }  catch(final ResourceDoesNotExistException e){
+                return returnBadRequestWithExceptionMessage(e);
+            }
+        });
+    }
+
+    /**
+     * Lists the bookings matching the filters ordered by start date and id.
+     * The page is streamed as it is read; when more bookings follow,
+     * {@code next_cursor} is written last and is passed back as {@code cursor}
+     * to get the next page. The page is written in the format the client
+     * accepts first, JSON or CBOR.
+     */
+    @Timed(value = BookingMetrics.REQUESTS, extraTags = {BookingMetrics.OPERATION_TAG, "search"},
+            percentiles = {0.5, 0.99, 0.999}, histogram = true)
+    @GET
+    public Response search(@QueryParam(Booking.PROPERTY_ID) final Long propertyId,
+                           @QueryParam(Booking.PERSON_ID) final Long personId,
+                           @QueryParam(FROM) final String from,
+                           @QueryParam(TO) final String to,
+                           @QueryParam(CANCELED) final Boolean canceled,
+                           @QueryParam(CURSOR) final String cursor,
+                           @QueryParam(LIMIT) @DefaultValue("100") final int limit,
+                           @Context final Request request) {
+        if(limit < 1 || limit > searchMaxLimit){
+            return returnBadRequestForSearchParameter(LIMIT);
+        }
+        final BookingSearchCriteria.BookingSearchCriteriaBuilder criteria = BookingSearchCriteria.builder()
+            .propertyId(propertyId)
+            .personId(personId)
+            .canceled(canceled)
+            .limit(limit + 1);
+        try {
+            criteria.from(Objects.isNull(from) ? null : LocalDate.parse(from));
+        } catch(final DateTimeParseException e){
+            return returnBadRequestForSearchParameter(FROM);
+        }
+        try {
+            criteria.to(Objects.isNull(to) ? null : LocalDate.parse(to));
+        } catch(final DateTimeParseException e){
+            return returnBadRequestForSearchParameter(TO);
+        }
+        if(Objects.nonNull(cursor)){
+            final String[] position = cursor.split(CURSOR_SEPARATOR);
+            try {
+                criteria.afterStart(LocalDate.parse(position[0])).afterId(Long.parseLong(position[1]));
+            } catch(final DateTimeParseException | NumberFormatException | ArrayIndexOutOfBoundsException e){
+                return returnBadRequestForSearchParameter(CURSOR);
+            }
+        }
+        final Variant variant = request.selectVariant(wireFormats.variants());
+        final MediaType mediaType = Objects.isNull(variant) ? MediaType.APPLICATION_JSON_TYPE : variant.getMediaType();
+        final StreamingOutput page = output -> {
+            try(JsonGenerator generator = wireFormats.of(mediaType).getFactory().createGenerator(output)){
+                generator.writeStartObject();
+                generator.writeArrayFieldStart(BOOKINGS);
+                final PageWriter pageWriter = new PageWriter(generator, limit);
+                bookingService.search(criteria.build(), pageWriter);
+                generator.writeEndArray();
+                if(pageWriter.hasMore){
+                    generator.writeStringField(NEXT_CURSOR, pageWriter.last.start + CURSOR_SEPARATOR + pageWriter.last.id);
+                }
+                generator.writeEndObject();
+            }
+        };
+        return Response.ok(page, mediaType).build();
+    }
+
+    private static Response returnBadRequestForSearchParameter(final String parameter) {
+        return Response.status(Response.Status.BAD_REQUEST)
+            .entity(new MessageWrapper(String.format(INVALID_SEARCH_PARAMETER, parameter)))
+            .build();
+    }
+
+    /**
+     * Writes up to {@code limit} bookings and only notes whether one more was read.
+     */
+    private static class PageWriter implements Consumer<Booking> {
+        private final JsonGenerator generator;
+        private final int limit;
+        private int written;
+        private Booking last;
+        private boolean hasMore;
+
+        PageWriter(final JsonGenerator generator, final int limit) {
+            this.generator = generator;
+            this.limit = limit;
+        }
+
+        @SneakyThrows
+        @Override
+        public void accept(final Booking booking) {
+            if(written == limit){
+                hasMore = true;
+                return;
+            }
+            generator.writeObject(booking);
+            last = booking;
+            written++;
         }
     }
 
+    /**
+     * Answers 304 without the body when {@code If-None-Match} lists the tag of
+     * the current version. Read from the replica when one is enabled, unless
+     * the client wrote within {@code booking.replica.pin-window}.
+     */
+    @Timed(value = BookingMetrics.REQUESTS, extraTags = {BookingMetrics.OPERATION_TAG, "get"},
+            percentiles = {0.5, 0.99, 0.999}, histogram = true)
     @GET
     @Path(ID_PATH_PARAM)
-    public Response get(@PathParam(ID) Long id) {
-        try{
-            var booking = bookingService.get(id);
-            return Response.status(Response.Status.OK).entity(booking)
-                .type(MediaType.APPLICATION_JSON_TYPE)
-                .build();
-        }  catch(final ResourceDoesNotExistException e){
-            return returnBadRequestWithExceptionMessage(e);
+    public CompletionStage<Response> get(@PathParam(ID) Long id,
+                             @HeaderParam(HttpHeaders.IF_NONE_MATCH) final String ifNoneMatch,
+                             @CookieParam(PRIMARY_PIN_COOKIE) final String pinnedUntil) {
+        final boolean fromReplica = replicaEnabled && !pinnedToPrimary(pinnedUntil);
+        return execute(() -> {
+            try{
+                var booking = fromReplica ? replicaBookingReader.getIncludingArchived(id) :
+                        bookingService.getIncludingArchived(id);
+                final EntityTag tag = entityTag(booking);
+                if(Objects.nonNull(tag) && Objects.nonNull(ifNoneMatch) && listsVersion(ifNoneMatch, booking.version)){
+                    return Response.notModified(tag).build();
+                }
+                return Response.status(Response.Status.OK).entity(booking)
+                    .tag(tag)
+                    .build();
+            }  catch(final ResourceDoesNotExistException e){
+                return returnBadRequestWithExceptionMessage(e);
+            }
+        });
+    }
+
+    /**
+     * Sends the client that wrote a cookie keeping its reads on the primary
+     * for {@code booking.replica.pin-window}, long enough for the replica to
+     * catch up with the write.
+     */
+    private Response.ResponseBuilder pinToPrimary(final Response.ResponseBuilder response) {
+        if(!replicaEnabled){
+            return response;
         }
+        final long pinnedUntil = System.currentTimeMillis() + replicaPinWindow.toMillis();
+        return response.cookie(new NewCookie.Builder(PRIMARY_PIN_COOKIE)
+            .value(Long.toString(pinnedUntil))
+            .path(ROOT_PATH)
+            .maxAge((int) replicaPinWindow.toSeconds())
+            .httpOnly(true)
+            .build());
+    }
+
+    /**
+     * A pin that is not a time, or reaches further than the window, was not
+     * set by us and is ignored.
+     */
+    private boolean pinnedToPrimary(final String pinnedUntil) {
+        if(Objects.isNull(pinnedUntil)){
+            return false;
+        }
+        final long now = System.currentTimeMillis();
+        try {
+            final long until = Long.parseLong(pinnedUntil);
+            return now < until && until <= now + replicaPinWindow.toMillis();
+        } catch(final NumberFormatException e){
+            return false;
+        }
+    }
+
+    private static EntityTag entityTag(final Booking booking) {
+        return entityTag(booking.version);
+    }
+
+    private static EntityTag entityTag(final Long version) {
+        return Objects.isNull(version) ? null : new EntityTag(version.toString());
+    }
+
+    /**
+     * Weak comparison, as {@code If-None-Match} asks for.
+     */
+    private static boolean listsVersion(final String ifNoneMatch, final Long version) {
+        for(String tag : ifNoneMatch.split(ENTITY_TAG_SEPARATOR)){
+            final String trimmed = tag.trim();
+            if(ANY_ENTITY_TAG.equals(trimmed)){
+                return true;
+            }
+            if(version.toString().equals(tagValue(trimmed, true))){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version of a single strong tag, or null when the header is anything else.
+     */
+    private static Long parseVersion(final String ifMatch) {
+        final String value = tagValue(ifMatch.trim(), false);
+        if(Objects.isNull(value)){
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch(final NumberFormatException e){
+            return null;
+        }
+    }
+
+    /**
+     * Value of a tag written {@code "value"} or, when {@code weakAllowed},
+     * {@code W/"value"}; null when it is anything else.
+     */
+    private static String tagValue(final String tag, final boolean weakAllowed) {
+        String quoted = tag;
+        if(quoted.startsWith(WEAK_ENTITY_TAG_PREFIX)){
+            if(!weakAllowed){
+                return null;
+            }
+            quoted = quoted.substring(WEAK_ENTITY_TAG_PREFIX.length());
+        }
+        if(quoted.length() < 2 || !quoted.startsWith(ENTITY_TAG_QUOTE) || !quoted.endsWith(ENTITY_TAG_QUOTE)){
+            return null;
+        }
+        return quoted.substring(1, quoted.length() - 1);
+    }
+
+    /**
+     * Single booking operations go through {@link BookingExecutor}; the batch
+     * and the search keep running on the worker thread since they stream the
+     * request or the response.
+     */
+    private CompletionStage<Response> execute(final Supplier<Response> operation) {
+        return bookingExecutor.submit(operation)
+            .exceptionallyCompose(e -> {
+                final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                if(cause instanceof RejectedExecutionException){
+                    return CompletableFuture.completedFuture(Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+                }
+                return CompletableFuture.failedFuture(cause);
+            });
     }
 
-    private static Response returnBadRequestWithExceptionMessage(
-            final RuntimeException e) {
+    private Response returnBadRequestWithExceptionMessage(
+            final ResourceDoesNotExistException e) {
+        bookingMetrics.notFound();
         return Response.status(Response.Status.BAD_REQUEST)
             .entity(new MessageWrapper(e.getMessage()))
             .build();
@@ -0,0 +1,65 @@
+package com.host;
+
+import com.host.event.BookingChangeLog;
+import com.host.event.BookingChangeStream;
+import com.host.exception.MessageWrapper;
+import com.host.model.Booking;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.util.Objects;
+
+@Path(ChangeResource.ROOT_PATH)
+public class ChangeResource {
+
+    public static final String ROOT_PATH = "/changes/";
+    public static final String AFTER = "after";
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+    public static final String INVALID_POSITION = "Invalid change position '%s', expected a sequence number";
+    @Inject
+    BookingChangeLog changeLog;
+    @Inject
+    BookingChangeStream changeStream;
+
+    /**
+     * Streams the committed booking writes as {@code change} events, only
+     * those of {@code property_id} when given. A reconnecting client resumes
+     * after its {@code Last-Event-ID}; otherwise the stream starts after the
+     * {@code after} sequence, or with the next write when there is none.
+     */
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void stream(@Context final SseEventSink sink,
+                       @Context final Sse sse,
+                       @HeaderParam(LAST_EVENT_ID) final String lastEventId,
+                       @QueryParam(AFTER) final String after,
+                       @QueryParam(Booking.PROPERTY_ID) final Long propertyId) {
+        final String position = Objects.nonNull(lastEventId) ? lastEventId : after;
+        changeStream.subscribe(sink, sse, Objects.isNull(position) ? changeLog.lastSequence() : parsePosition(position), propertyId);
+    }
+
+    private static long parsePosition(final String position) {
+        try {
+            final long sequence = Long.parseLong(position.trim());
+            if(sequence >= 0){
+                return sequence;
+            }
+        } catch(final NumberFormatException e){
+            // reported below
+        }
+        throw new BadRequestException(Response.status(Response.Status.BAD_REQUEST)
+            .type(MediaType.APPLICATION_JSON_TYPE)
+            .entity(new MessageWrapper(String.format(INVALID_POSITION, position)))
+            .build());
+    }
+}
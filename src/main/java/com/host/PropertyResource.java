@@ -0,0 +1,59 @@
+package com.host;
+
+import com.host.exception.MessageWrapper;
+import com.host.index.AvailabilityCalendar;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+@Path(PropertyResource.ROOT_PATH)
+@Produces(MediaType.APPLICATION_JSON)
+public class PropertyResource {
+
+    public static final String ROOT_PATH = "/property/";
+    public static final String ID = "id";
+    public static final String AVAILABILITY_PATH = "{id}/availability";
+    public static final String FROM = "from";
+    public static final String TO = "to";
+    public static final String INVALID_RANGE = "Invalid availability range, 'from' must be before 'to' and at most %s days apart";
+    @Inject
+    AvailabilityCalendar availabilityCalendar;
+    @ConfigProperty(name = "booking.availability.max-days", defaultValue = "731")
+    long availabilityMaxDays;
+
+    /**
+     * Nights of the property between {@code from} (default today) and
+     * {@code to} (default a year later), answered from memory.
+     */
+    @GET
+    @Path(AVAILABILITY_PATH)
+    public Response availability(@PathParam(ID) final Long id,
+                                 @QueryParam(FROM) final String from,
+                                 @QueryParam(TO) final String to) {
+        final LocalDate fromDate;
+        final LocalDate toDate;
+        try {
+            fromDate = Objects.isNull(from) ? LocalDate.now() : LocalDate.parse(from);
+            toDate = Objects.isNull(to) ? fromDate.plusYears(1) : LocalDate.parse(to);
+        } catch(final DateTimeParseException e){
+            return returnBadRequestForInvalidRange();
+        }
+        if(!fromDate.isBefore(toDate) || ChronoUnit.DAYS.between(fromDate, toDate) > availabilityMaxDays){
+            return returnBadRequestForInvalidRange();
+        }
+        return Response.ok(availabilityCalendar.get(id, fromDate, toDate)).build();
+    }
+
+    private Response returnBadRequestForInvalidRange() {
+        return Response.status(Response.Status.BAD_REQUEST)
+            .entity(new MessageWrapper(String.format(INVALID_RANGE, availabilityMaxDays)))
+            .build();
+    }
+}
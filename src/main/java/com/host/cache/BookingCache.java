@@ -0,0 +1,54 @@
+package com.host.cache;
+
+import com.host.dto.CacheStatisticsWrapper;
+import com.host.event.BookingChangedEvent;
+import com.host.model.Booking;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drops a booking from the second-level cache once an update or removal of it
+ * is committed, so the next read loads the stored row whatever the cache
+ * concurrency strategy did with it, and reports the region counters.
+ * <p>
+ * The region does not count the entries it drops on its own, once full or
+ * idle for {@code expiration.max-idle}. Those are roughly
+ * {@code puts - size - invalidations}.
+ */
+@ApplicationScoped
+public class BookingCache {
+    public static final String REGION = Booking.class.getName();
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    private final LongAdder invalidations = new LongAdder();
+
+    void onBookingChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) final BookingChangedEvent event){
+        if(Objects.nonNull(event.previous())){
+            entityManagerFactory.getCache().evict(Booking.class, event.previous().id());
+            invalidations.increment();
+        }
+    }
+
+    public CacheStatisticsWrapper statistics(){
+        final CacheRegionStatistics region = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics().getDomainDataRegionStatistics(REGION);
+        return CacheStatisticsWrapper.builder()
+                .region(REGION)
+                .hits(region.getHitCount())
+                .misses(region.getMissCount())
+                .puts(region.getPutCount())
+                .invalidations(invalidations.sum())
+                .size(region.getElementCountInMemory())
+                .build();
+    }
+}
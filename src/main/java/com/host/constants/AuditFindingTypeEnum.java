@@ -0,0 +1,5 @@
+package com.host.constants;
+
+public enum AuditFindingTypeEnum {
+    CONFLICT, INVALID_DATES, SUMMARY
+}
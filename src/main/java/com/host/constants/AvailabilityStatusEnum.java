@@ -0,0 +1,5 @@
+package com.host.constants;
+
+public enum AvailabilityStatusEnum {
+    FREE, BOOKING, BLOCK
+}
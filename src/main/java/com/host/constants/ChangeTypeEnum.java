@@ -0,0 +1,5 @@
+package com.host.constants;
+
+public enum ChangeTypeEnum {
+    CREATED, UPDATED, CANCELED, REMOVED, ARCHIVED
+}
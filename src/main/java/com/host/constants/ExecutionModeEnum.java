@@ -0,0 +1,5 @@
+package com.host.constants;
+
+public enum ExecutionModeEnum {
+    WORKER, POOL, VIRTUAL
+}
@@ -0,0 +1,14 @@
+package com.host.dto;
+
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Stays moved to the archive because they ended on or before {@code before}.
+ */
+@AllArgsConstructor
+public class ArchiveWrapper {
+    public final LocalDate before;
+    public final int archived;
+}
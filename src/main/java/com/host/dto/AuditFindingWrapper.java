@@ -0,0 +1,22 @@
+package com.host.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.host.constants.AuditFindingTypeEnum;
+import com.host.model.Booking;
+import lombok.Builder;
+
+/**
+ * A booking the audit found wrong: overlapping {@code conflicting}, an
+ * earlier booking of the same property, or missing a date or ending on or
+ * before its start.
+ */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditFindingWrapper {
+    public final AuditFindingTypeEnum type;
+    @JsonProperty(Booking.PROPERTY_ID)
+    public final long propertyId;
+    public final Booking booking;
+    public final Booking conflicting;
+}
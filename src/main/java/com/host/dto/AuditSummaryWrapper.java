@@ -0,0 +1,20 @@
+package com.host.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.host.constants.AuditFindingTypeEnum;
+import lombok.Builder;
+
+/**
+ * Last line of an audit, once every booking was checked.
+ */
+@Builder
+public class AuditSummaryWrapper {
+    public final AuditFindingTypeEnum type;
+    public final long bookings;
+    public final long properties;
+    public final long conflicts;
+    @JsonProperty("invalid_dates")
+    public final long invalidDates;
+    @JsonProperty("elapsed_millis")
+    public final long elapsedMillis;
+}
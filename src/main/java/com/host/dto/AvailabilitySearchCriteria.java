@@ -0,0 +1,21 @@
+package com.host.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Body of POST /availability/search: the nights {@code [from, to)} and, when
+ * given, the properties to look at.
+ */
+public class AvailabilitySearchCriteria {
+    public static final String PROPERTY_IDS = "property_ids";
+    @NotNull
+    public LocalDate from;
+    @NotNull
+    public LocalDate to;
+    @JsonProperty(PROPERTY_IDS)
+    public List<@NotNull Long> propertyIds;
+}
@@ -0,0 +1,28 @@
+package com.host.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.host.constants.AvailabilityStatusEnum;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Nights of {@code [from, to)} of a property, as consecutive runs sharing the
+ * same status.
+ */
+@AllArgsConstructor
+public class AvailabilityWrapper {
+    @JsonProperty("property_id")
+    public final Long propertyId;
+    public final LocalDate from;
+    public final LocalDate to;
+    public final List<Run> nights;
+
+    @AllArgsConstructor
+    public static class Run {
+        public final LocalDate start;
+        public final LocalDate end;
+        public final AvailabilityStatusEnum status;
+    }
+}
@@ -0,0 +1,17 @@
+package com.host.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+/**
+ * Outcome of one element of a batch creation, {@code index} being its position
+ * in the submitted array.
+ */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    public final int index;
+    public final int status;
+    public final String location;
+    public final Object error;
+}
@@ -0,0 +1,26 @@
+package com.host.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.host.constants.ChangeTypeEnum;
+import com.host.model.Booking;
+import lombok.Builder;
+
+/**
+ * One committed write. {@code sequence} orders every change and is the SSE
+ * event id to resume from; {@code property_sequence} counts the changes of
+ * the property alone, so a gap shows a change was missed. {@code booking}
+ * is the booking after the change, or as it was last for a removal.
+ */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingChangeWrapper {
+    public final long sequence;
+    @JsonProperty(Booking.PROPERTY_ID)
+    public final long propertyId;
+    @JsonProperty("property_sequence")
+    public final long propertySequence;
+    public final ChangeTypeEnum type;
+    public final Booking booking;
+    public final Booking previous;
+}
@@ -0,0 +1,23 @@
+package com.host.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a booking listing. Every field but {@code limit} is optional;
+ * {@code from}/{@code to} select the bookings overlapping {@code [from, to)}
+ * and {@code afterStart}/{@code afterId} resume right after the last booking
+ * of the previous page.
+ */
+@Builder
+public class BookingSearchCriteria {
+    public final Long propertyId;
+    public final Long personId;
+    public final LocalDate from;
+    public final LocalDate to;
+    public final Boolean canceled;
+    public final LocalDate afterStart;
+    public final Long afterId;
+    public final int limit;
+}
@@ -0,0 +1,19 @@
+package com.host.dto;
+
+import lombok.Builder;
+
+/**
+ * Counters of the second-level cache region of an entity since startup.
+ */
+@Builder
+public class CacheStatisticsWrapper {
+    public final String region;
+    public final long hits;
+    public final long misses;
+    public final long puts;
+    /**
+     * Bookings dropped after an update or removal of them was committed.
+     */
+    public final long invalidations;
+    public final long size;
+}
@@ -0,0 +1,17 @@
+package com.host.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Properties with no booking nor block on any night of {@code [from, to)}.
+ */
+@AllArgsConstructor
+public class FreePropertiesWrapper {
+    public final LocalDate from;
+    public final LocalDate to;
+    @JsonProperty("property_ids")
+    public final long[] propertyIds;
+}
@@ -0,0 +1,71 @@
+package com.host.engine;
+
+/**
+ * Booking conflict checks over plain arrays, free of JPA and CDI. Days are
+ * epoch days and every booking covers the nights {@code [start, end)}. The
+ * write path keeps the non-canceled bookings of a property apart, but rows
+ * written outside it may overlap each other and are still answered for.
+ * <p>
+ * Lookups allocate nothing: property ids are not boxed and free windows are
+ * written into an array owned by the caller.
+ */
+public final class ConflictEngine {
+    /**
+     * Returned by {@link #firstConflict} when the range is free, and accepted
+     * as the excluded id when there is none.
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private final PropertyTimelines timelines = new PropertyTimelines();
+
+    public void add(final long propertyId, final long id, final int start, final int end){
+        timelines.getOrCreate(propertyId).add(id, start, end);
+    }
+
+    public boolean remove(final long propertyId, final long id, final int start){
+        final PropertyTimeline timeline = timelines.get(propertyId);
+        return timeline != null && timeline.remove(id, start);
+    }
+
+    public boolean remove(final long propertyId, final long id){
+        final PropertyTimeline timeline = timelines.get(propertyId);
+        return timeline != null && timeline.remove(id);
+    }
+
+    public void clear(){
+        timelines.clear();
+    }
+
+    /**
+     * Id of a booking of {@code propertyId} overlapping {@code [start, end)},
+     * other than {@code excludedId}, or {@link #NONE}.
+     */
+    public long firstConflict(final long propertyId, final int start, final int end, final long excludedId){
+        final PropertyTimeline timeline = timelines.get(propertyId);
+        return timeline == null ? NONE : timeline.firstConflict(start, end, excludedId);
+    }
+
+    public boolean overlaps(final long propertyId, final int start, final int end){
+        return firstConflict(propertyId, start, end, NONE) != NONE;
+    }
+
+    /**
+     * Writes the free stretches of at least {@code minNights} nights within
+     * {@code [from, to)} as start and end pairs into {@code windows}, in
+     * order, and returns how many were written. Stops once {@code windows} is
+     * full.
+     */
+    public int freeWindows(final long propertyId, final int from, final int to,
+                           final int minNights, final int[] windows){
+        final PropertyTimeline timeline = timelines.get(propertyId);
+        if(timeline == null){
+            if(to - from < minNights || windows.length < 2){
+                return 0;
+            }
+            windows[0] = from;
+            windows[1] = to;
+            return 1;
+        }
+        return timeline.freeWindows(from, to, minNights, windows);
+    }
+}
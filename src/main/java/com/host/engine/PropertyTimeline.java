@@ -0,0 +1,186 @@
+package com.host.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The bookings of one property as parallel arrays ordered by start day and
+ * id. Days are epoch days and every booking covers {@code [start, end)}.
+ * {@code furthestEnds[i]} is the latest end among the first {@code i + 1}
+ * bookings, so a scan can stop early even when rows written outside the
+ * service overlap each other.
+ */
+final class PropertyTimeline {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final StampedLock lock = new StampedLock();
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int[] furthestEnds = new int[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(final long id, final int start, final int end){
+        final long stamp = lock.writeLock();
+        try {
+            final int position = position(start, id);
+            if(position >= 0){
+                ends[position] = end;
+                updateFurthestEnds(position);
+                return;
+            }
+            final int insertAt = -position - 1;
+            if(size == starts.length){
+                final int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                furthestEnds = Arrays.copyOf(furthestEnds, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+            }
+            System.arraycopy(starts, insertAt, starts, insertAt + 1, size - insertAt);
+            System.arraycopy(ends, insertAt, ends, insertAt + 1, size - insertAt);
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            starts[insertAt] = start;
+            ends[insertAt] = end;
+            ids[insertAt] = id;
+            size++;
+            updateFurthestEnds(insertAt);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    boolean remove(final long id, final int start){
+        final long stamp = lock.writeLock();
+        try {
+            final int position = position(start, id);
+            if(position < 0){
+                return false;
+            }
+            removeAt(position);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removal when the start day is not known, walking the whole timeline.
+     */
+    boolean remove(final long id){
+        final long stamp = lock.writeLock();
+        try {
+            for(int i = 0; i < size; i++){
+                if(ids[i] == id){
+                    removeAt(i);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Only the bookings starting before {@code end} can overlap
+     * {@code [start, end)}. They are walked back until none of the earlier
+     * ones ends after {@code start}.
+     */
+    long firstConflict(final int start, final int end, final long excludedId){
+        final long stamp = lock.readLock();
+        try {
+            for(int i = firstStartingOnOrAfter(end) - 1; i >= 0 && furthestEnds[i] > start; i--){
+                if(ends[i] > start && ids[i] != excludedId){
+                    return ids[i];
+                }
+            }
+            return ConflictEngine.NONE;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * The bookings starting before {@code from} only push the first window
+     * back to the furthest end among them.
+     */
+    int freeWindows(final int from, final int to, final int minNights, final int[] windows){
+        final long stamp = lock.readLock();
+        try {
+            int written = 0;
+            final int first = firstStartingOnOrAfter(from);
+            int cursor = first == 0 ? from : Math.max(from, furthestEnds[first - 1]);
+            for(int i = first; i < size && starts[i] < to; i++){
+                if(written + 2 > windows.length){
+                    return written / 2;
+                }
+                if(starts[i] - cursor >= minNights){
+                    windows[written++] = cursor;
+                    windows[written++] = starts[i];
+                }
+                cursor = Math.max(cursor, ends[i]);
+            }
+            if(to - cursor >= minNights && written + 2 <= windows.length){
+                windows[written++] = cursor;
+                windows[written++] = to;
+            }
+            return written / 2;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void removeAt(final int position){
+        final int moved = size - position - 1;
+        System.arraycopy(starts, position + 1, starts, position, moved);
+        System.arraycopy(ends, position + 1, ends, position, moved);
+        System.arraycopy(ids, position + 1, ids, position, moved);
+        size--;
+        updateFurthestEnds(position);
+    }
+
+    private void updateFurthestEnds(final int from){
+        int furthest = from == 0 ? Integer.MIN_VALUE : furthestEnds[from - 1];
+        for(int i = from; i < size; i++){
+            furthest = Math.max(furthest, ends[i]);
+            furthestEnds[i] = furthest;
+        }
+    }
+
+    /**
+     * Index of {@code (start, id)}, or {@code -(insertion point) - 1} when
+     * absent, like {@link Arrays#binarySearch(int[], int)}.
+     */
+    private int position(final int start, final long id){
+        int low = 0;
+        int high = size - 1;
+        while(low <= high){
+            final int middle = (low + high) >>> 1;
+            final int byStart = Integer.compare(starts[middle], start);
+            final int compared = byStart != 0 ? byStart : Long.compare(ids[middle], id);
+            if(compared < 0){
+                low = middle + 1;
+            } else if(compared > 0){
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private int firstStartingOnOrAfter(final int day){
+        int low = 0;
+        int high = size;
+        while(low < high){
+            final int middle = (low + high) >>> 1;
+            if(starts[middle] < day){
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,105 @@
+package com.host.engine;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open addressing map from property id to timeline, so lookups need no boxed
+ * key. Reads are optimistic and only take the read lock when a new property
+ * was added meanwhile.
+ */
+final class PropertyTimelines {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final StampedLock lock = new StampedLock();
+    private Table table = new Table(INITIAL_CAPACITY);
+
+    PropertyTimeline get(final long propertyId){
+        final long optimistic = lock.tryOptimisticRead();
+        final PropertyTimeline timeline = table.get(propertyId);
+        if(lock.validate(optimistic)){
+            return timeline;
+        }
+        final long stamp = lock.readLock();
+        try {
+            return table.get(propertyId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    PropertyTimeline getOrCreate(final long propertyId){
+        final PropertyTimeline existing = get(propertyId);
+        if(existing != null){
+            return existing;
+        }
+        final long stamp = lock.writeLock();
+        try {
+            PropertyTimeline timeline = table.get(propertyId);
+            if(timeline == null){
+                if((table.size + 1) * 2 > table.keys.length){
+                    table = table.resized();
+                }
+                timeline = new PropertyTimeline();
+                table.put(propertyId, timeline);
+            }
+            return timeline;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void clear(){
+        final long stamp = lock.writeLock();
+        try {
+            table = new Table(INITIAL_CAPACITY);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final PropertyTimeline[] values;
+        private final int mask;
+        private int size;
+
+        Table(final int capacity){
+            keys = new long[capacity];
+            values = new PropertyTimeline[capacity];
+            mask = capacity - 1;
+        }
+
+        PropertyTimeline get(final long key){
+            for(int slot = slot(key); ; slot = (slot + 1) & mask){
+                final PropertyTimeline value = values[slot];
+                if(value == null || keys[slot] == key){
+                    return value;
+                }
+            }
+        }
+
+        void put(final long key, final PropertyTimeline value){
+            int slot = slot(key);
+            while(values[slot] != null){
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+
+        Table resized(){
+            final Table resized = new Table(keys.length * 2);
+            for(int slot = 0; slot < keys.length; slot++){
+                if(values[slot] != null){
+                    resized.put(keys[slot], values[slot]);
+                }
+            }
+            return resized;
+        }
+
+        private int slot(final long key){
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.host.event;
+
+import com.host.dto.BookingChangeWrapper;
+import com.host.model.Booking;
+import com.host.model.BookingSnapshot;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The last {@code booking.changes.buffer-size} committed writes, numbered in
+ * commit order. Writes to a property commit one at a time under its lock,
+ * so the changes of a property come in the order they were made. Sequences
+ * start over when the process restarts. Appends run on the writing thread,
+ * so they take a {@link ReentrantLock}, which a waiting virtual thread does
+ * not pin its carrier on.
+ */
+@ApplicationScoped
+public class BookingChangeLog {
+
+    private final BookingChangeWrapper[] ring;
+    private final Map<Long, Long> propertySequences = new HashMap<>();
+    private final Lock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private long lastSequence;
+    private long wakeUps;
+
+    @Inject
+    public BookingChangeLog(@ConfigProperty(name = "booking.changes.buffer-size", defaultValue = "65536") final int bufferSize){
+        this.ring = new BookingChangeWrapper[bufferSize];
+    }
+
+    void onBookingChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) final BookingChangedEvent event){
+        append(event);
+    }
+
+    private void append(final BookingChangedEvent event){
+        final Booking booking = toBooking(Objects.isNull(event.current()) ? event.previous() : event.current());
+        final Booking previous = Objects.isNull(event.current()) ? null : toBooking(event.previous());
+        lock.lock();
+        try {
+            final long sequence = ++lastSequence;
+            final long propertyId = event.propertyId();
+            ring[slot(sequence)] = BookingChangeWrapper.builder()
+                    .sequence(sequence)
+                    .propertyId(propertyId)
+                    .propertySequence(propertySequences.merge(propertyId, 1L, Long::sum))
+                    .type(event.type())
+                    .booking(booking)
+                    .previous(previous)
+                    .build();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSequence(){
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Oldest sequence still held.
+     */
+    public long firstSequence(){
+        lock.lock();
+        try {
+            return firstSequenceLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long firstSequenceLocked(){
+        return Math.max(1, lastSequence - ring.length + 1);
+    }
+
+    /**
+     * Up to {@code max} changes following {@code after}, or null when some
+     * of them are no longer held or {@code after} was numbered before a
+     * restart.
+     */
+    public List<BookingChangeWrapper> after(final long after, final int max){
+        lock.lock();
+        try {
+            if(after < firstSequenceLocked() - 1 || after > lastSequence){
+                return null;
+            }
+            final long last = Math.min(lastSequence, after + max);
+            final List<BookingChangeWrapper> changes = new ArrayList<>((int) Math.max(0, last - after));
+            for(long sequence = after + 1; sequence <= last; sequence++){
+                changes.add(ring[slot(sequence)]);
+            }
+            return changes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits at most {@code timeoutMillis} for a change following {@code after},
+     * or for {@link #wakeUp()}, and returns the last sequence.
+     */
+    public long await(final long after, final long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            final long wakeUpsBefore = wakeUps;
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while(lastSequence <= after && wakeUps == wakeUpsBefore && remaining > 0){
+                remaining = changed.awaitNanos(remaining);
+            }
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void wakeUp(){
+        lock.lock();
+        try {
+            wakeUps++;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int slot(final long sequence){
+        return (int) (sequence % ring.length);
+    }
+
+    private static Booking toBooking(final BookingSnapshot snapshot){
+        return Objects.isNull(snapshot) ? null : snapshot.toBooking();
+    }
+}
@@ -0,0 +1,149 @@
+package com.host.event;
+
+import com.host.dto.BookingChangeWrapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes the changes of {@link BookingChangeLog} to the SSE subscribers from
+ * a single thread, so that a commit never waits on a consumer. Each
+ * subscriber reads from its own position in the log. One that fell behind
+ * the buffer gets a {@code reset} event, telling it to rescan, and carries on
+ * from the oldest change held. Subscribers that got nothing for
+ * {@code booking.changes.heartbeat} get a comment, which is also how closed
+ * connections are noticed.
+ */
+@ApplicationScoped
+public class BookingChangeStream {
+    public static final String CHANGE_EVENT = "change";
+    public static final String RESET_EVENT = "reset";
+    private static final int READ_SIZE = 512;
+
+    @Inject
+    BookingChangeLog changeLog;
+    @ConfigProperty(name = "booking.changes.heartbeat", defaultValue = "15s")
+    Duration heartbeat;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+    private Thread dispatcher;
+
+    @PostConstruct
+    void start(){
+        dispatcher = Thread.ofPlatform().name("booking-change-stream").daemon().start(this::dispatch);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        changeLog.wakeUp();
+        dispatcher.join();
+        subscribers.forEach(subscriber -> subscriber.sink.close());
+    }
+
+    /**
+     * Streams the changes following {@code after}, only those of
+     * {@code propertyId} when it is not null.
+     */
+    public void subscribe(final SseEventSink sink, final Sse sse, final long after, final Long propertyId){
+        subscribers.add(new Subscriber(sink, sse, after, propertyId));
+        changeLog.wakeUp();
+    }
+
+    private void dispatch(){
+        final long heartbeatMillis = heartbeat.toMillis();
+        long seen = 0;
+        long lastHeartbeat = System.currentTimeMillis();
+        while(running){
+            try {
+                seen = changeLog.await(seen, heartbeatMillis);
+            } catch(final InterruptedException e){
+                return;
+            }
+            final long now = System.currentTimeMillis();
+            final boolean heartbeatDue = now - lastHeartbeat >= heartbeatMillis;
+            for(Subscriber subscriber : subscribers){
+                if(!subscriber.drain(changeLog, heartbeatDue)){
+                    subscribers.remove(subscriber);
+                }
+            }
+            if(heartbeatDue){
+                lastHeartbeat = now;
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEventSink sink;
+        private final Sse sse;
+        private final Long propertyId;
+        private long position;
+        private boolean sentSinceHeartbeat;
+
+        Subscriber(final SseEventSink sink, final Sse sse, final long position, final Long propertyId){
+            this.sink = sink;
+            this.sse = sse;
+            this.position = position;
+            this.propertyId = propertyId;
+        }
+
+        /**
+         * Sends everything following the position; false once the connection
+         * is closed.
+         */
+        boolean drain(final BookingChangeLog changeLog, final boolean heartbeatDue){
+            try {
+                List<BookingChangeWrapper> changes;
+                while(!sink.isClosed() && !(changes = read(changeLog)).isEmpty()){
+                    for(BookingChangeWrapper change : changes){
+                        if(Objects.isNull(propertyId) || propertyId == change.propertyId){
+                            sink.send(sse.newEventBuilder()
+                                    .id(String.valueOf(change.sequence))
+                                    .name(CHANGE_EVENT)
+                                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                                    .data(BookingChangeWrapper.class, change)
+                                    .build());
+                            sentSinceHeartbeat = true;
+                        }
+                        position = change.sequence;
+                    }
+                }
+                if(heartbeatDue){
+                    if(!sentSinceHeartbeat){
+                        sink.send(sse.newEventBuilder().comment("").build());
+                    }
+                    sentSinceHeartbeat = false;
+                }
+            } catch(final IllegalStateException e){
+                return false;
+            }
+            return !sink.isClosed();
+        }
+
+        private List<BookingChangeWrapper> read(final BookingChangeLog changeLog){
+            final List<BookingChangeWrapper> changes = changeLog.after(position, READ_SIZE);
+            if(Objects.nonNull(changes)){
+                return changes;
+            }
+            final long first = changeLog.firstSequence();
+            position = first - 1;
+            sink.send(sse.newEventBuilder()
+                    .id(String.valueOf(position))
+                    .name(RESET_EVENT)
+                    .data(String.valueOf(first))
+                    .build());
+            return read(changeLog);
+        }
+    }
+}
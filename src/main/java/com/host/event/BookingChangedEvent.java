@@ -0,0 +1,31 @@
+package com.host.event;
+
+import com.host.constants.ChangeTypeEnum;
+import com.host.model.BookingSnapshot;
+
+import java.util.Objects;
+
+/**
+ * Fired by the booking service for every write. {@code previous} is null for a
+ * creation and {@code current} is null for a removal.
+ */
+public record BookingChangedEvent(BookingSnapshot previous, BookingSnapshot current, ChangeTypeEnum type) {
+
+    public BookingChangedEvent(final BookingSnapshot previous, final BookingSnapshot current){
+        this(previous, current, typeOf(previous, current));
+    }
+
+    private static ChangeTypeEnum typeOf(final BookingSnapshot previous, final BookingSnapshot current){
+        if(Objects.isNull(previous)){
+            return ChangeTypeEnum.CREATED;
+        }
+        if(Objects.isNull(current)){
+            return ChangeTypeEnum.REMOVED;
+        }
+        return !previous.canceled() && current.canceled() ? ChangeTypeEnum.CANCELED : ChangeTypeEnum.UPDATED;
+    }
+
+    public Long propertyId(){
+        return Objects.isNull(current) ? previous.propertyId() : current.propertyId();
+    }
+}
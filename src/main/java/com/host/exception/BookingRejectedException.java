@@ -0,0 +1,12 @@
+package com.host.exception;
+
+/**
+ * A write refused for a business reason, which the resource answers with a
+ * status of its own. Rejections are ordinary outcomes, so they are thrown
+ * without filling in a stack trace.
+ */
+public abstract class BookingRejectedException extends RuntimeException {
+    protected BookingRejectedException(final String message){
+        super(message, null, false, false);
+    }
+}
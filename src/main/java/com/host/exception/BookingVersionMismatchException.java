@@ -0,0 +1,10 @@
+package com.host.exception;
+
+public class BookingVersionMismatchException extends BookingRejectedException {
+    public static final String ERROR_MESSAGE = "Booking with id '%s' was changed, its current version is %s";
+    public final Long currentVersion;
+    public BookingVersionMismatchException(final Long id, final Long currentVersion){
+        super(String.format(ERROR_MESSAGE, id, currentVersion));
+        this.currentVersion = currentVersion;
+    }
+}
@@ -4,18 +4,30 @@ import jakarta.validation.ConstraintViolation;
 import org.h2.util.StringUtils;
 import org.jboss.resteasy.api.validation.ConstraintType;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class ConstraintViolationStructure {
     public List<ParameterViolation> parameterViolations;
 
+    public static ConstraintViolationStructure of(final Set<? extends ConstraintViolation<?>> violations){
+        final ConstraintViolationStructure constraintViolationStructure = new ConstraintViolationStructure();
+        final List<ParameterViolation> parameterViolations = new ArrayList<>();
+        for (ConstraintViolation<?> violation : violations) {
+            parameterViolations.add(new ParameterViolation(violation));
+        }
+        constraintViolationStructure.parameterViolations = parameterViolations;
+        return constraintViolationStructure;
+    }
+
     public static class ParameterViolation {
 
         public ParameterViolation(final ConstraintViolation constraintViolation){
             var path = constraintViolation.getPropertyPath().toString();
             this.constraintType = ConstraintType.Type.PARAMETER.name();
             this.message = constraintViolation.getMessage();
-            this.value = constraintViolation.getInvalidValue().toString();
+            this.value = String.valueOf(constraintViolation.getInvalidValue());
             this.path = "create.booking"+ (StringUtils.isNullOrEmpty(path)?"":"."+path);
         }
 
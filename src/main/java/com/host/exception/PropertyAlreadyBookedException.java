@@ -2,7 +2,7 @@ package com.host.exception;
 
 import com.host.model.Booking;
 
-public class PropertyAlreadyBookedException extends RuntimeException {
+public class PropertyAlreadyBookedException extends BookingRejectedException {
     public static final String ERROR_MESSAGE = "Property already booked for specified date range";
     public final Booking alreadyBooked;
     public final Booking triedToBook;
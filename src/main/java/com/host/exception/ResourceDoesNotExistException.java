@@ -1,6 +1,6 @@
 package com.host.exception;
 
-public class ResourceDoesNotExistException extends RuntimeException{
+public class ResourceDoesNotExistException extends BookingRejectedException {
     public ResourceDoesNotExistException(final Long id){
         super(String.format("Resource with id '%s' doesn't exist", id));
     }
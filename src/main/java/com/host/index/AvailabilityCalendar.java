@@ -0,0 +1,144 @@
+package com.host.index;
+
+import com.host.constants.AvailabilityStatusEnum;
+import com.host.constants.BookingTypeEnum;
+import com.host.dto.AvailabilityWrapper;
+import com.host.model.BookingSnapshot;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One bit per night and property for the nights taken by a booking and
+ * another for the nights taken by a block. A booking {@code [start, end)}
+ * takes the nights from {@code start} to the day before {@code end}.
+ */
+@ApplicationScoped
+public class AvailabilityCalendar implements BookingProjection {
+
+    private final Map<Long, PropertyCalendar> calendars = new ConcurrentHashMap<>();
+
+    @Override
+    public void clear(){
+        calendars.clear();
+    }
+
+    @Override
+    public void add(final BookingSnapshot booking){
+        calendars.computeIfAbsent(booking.propertyId(), id -> new PropertyCalendar())
+                .mark(booking, true);
+    }
+
+    @Override
+    public void remove(final BookingSnapshot booking){
+        final PropertyCalendar calendar = calendars.get(booking.propertyId());
+        if(Objects.nonNull(calendar)){
+            calendar.mark(booking, false);
+        }
+    }
+
+    public AvailabilityWrapper get(final Long propertyId, final LocalDate from, final LocalDate to){
+        final PropertyCalendar calendar = calendars.get(propertyId);
+        final List<AvailabilityWrapper.Run> nights = Objects.isNull(calendar) ?
+                List.of(new AvailabilityWrapper.Run(from, to, AvailabilityStatusEnum.FREE)) :
+                calendar.runs(from.toEpochDay(), to.toEpochDay());
+        return new AvailabilityWrapper(propertyId, from, to, nights);
+    }
+
+    /**
+     * Bit {@code i} stands for the night of epoch day {@code origin + i}. The
+     * origin moves back, shifting the bits, when a booking starts before it.
+     */
+    private static class PropertyCalendar {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private long origin = Long.MAX_VALUE;
+        private BitSet booked = new BitSet();
+        private BitSet blocked = new BitSet();
+
+        void mark(final BookingSnapshot booking, final boolean taken){
+            final long start = booking.start().toEpochDay();
+            final long end = booking.end().toEpochDay();
+            if(end <= start){
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                if(start < origin){
+                    if(!taken){
+                        return;
+                    }
+                    rebase(start);
+                }
+                final BitSet nights = booking.type() == BookingTypeEnum.BLOCK ? blocked : booked;
+                nights.set((int) (start - origin), (int) (end - origin), taken);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<AvailabilityWrapper.Run> runs(final long from, final long to){
+            final List<AvailabilityWrapper.Run> runs = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                long runStart = from;
+                AvailabilityStatusEnum runStatus = null;
+                for(long day = from; day < to; day++){
+                    final AvailabilityStatusEnum status = status(day);
+                    if(status != runStatus){
+                        if(Objects.nonNull(runStatus)){
+                            runs.add(run(runStart, day, runStatus));
+                        }
+                        runStart = day;
+                        runStatus = status;
+                    }
+                }
+                if(Objects.nonNull(runStatus)){
+                    runs.add(run(runStart, to, runStatus));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return runs;
+        }
+
+        private AvailabilityStatusEnum status(final long day){
+            if(day < origin || day - origin > Integer.MAX_VALUE){
+                return AvailabilityStatusEnum.FREE;
+            }
+            final int night = (int) (day - origin);
+            if(booked.get(night)){
+                return AvailabilityStatusEnum.BOOKING;
+            }
+            return blocked.get(night) ? AvailabilityStatusEnum.BLOCK : AvailabilityStatusEnum.FREE;
+        }
+
+        private void rebase(final long newOrigin){
+            if(origin != Long.MAX_VALUE){
+                final int shift = (int) (origin - newOrigin);
+                booked = shift(booked, shift);
+                blocked = shift(blocked, shift);
+            }
+            origin = newOrigin;
+        }
+
+        private static BitSet shift(final BitSet nights, final int shift){
+            final BitSet shifted = new BitSet(nights.length() + shift);
+            for(int night = nights.nextSetBit(0); night >= 0; night = nights.nextSetBit(night + 1)){
+                shifted.set(night + shift);
+            }
+            return shifted;
+        }
+
+        private static AvailabilityWrapper.Run run(final long start, final long end, final AvailabilityStatusEnum status){
+            return new AvailabilityWrapper.Run(LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(end), status);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.host.index;
+
+import com.host.model.BookingSnapshot;
+
+/**
+ * In-memory view over the non-canceled bookings, fed by {@link BookingProjections}
+ * with the table content at startup and with every committed change afterwards.
+ */
+public interface BookingProjection {
+    void clear();
+    void add(final BookingSnapshot booking);
+    void remove(final BookingSnapshot booking);
+}
@@ -0,0 +1,63 @@
+package com.host.index;
+
+import com.host.event.BookingChangedEvent;
+import com.host.model.Booking;
+import com.host.model.BookingSnapshot;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Loads every {@link BookingProjection} with a single scan of the booking table
+ * and keeps them in step with the committed writes.
+ */
+@ApplicationScoped
+public class BookingProjections {
+
+    @Inject
+    @Any
+    Instance<BookingProjection> projections;
+
+    void onStart(@Observes final StartupEvent event){
+        reload();
+    }
+
+    /**
+     * Rebuilds the projections from the table, for when it was changed outside
+     * the booking service.
+     */
+    @Transactional
+    public void reload(){
+        projections.forEach(BookingProjection::clear);
+        try(Stream<Booking> bookings = Booking.streamNotCanceled()){
+            bookings.map(BookingSnapshot::of)
+                    .forEach(booking -> projections.forEach(projection -> projection.add(booking)));
+        }
+    }
+
+    /**
+     * Adds a booking kept outside the booking table, after {@link #reload()}.
+     */
+    public void add(final BookingSnapshot booking){
+        if(!booking.canceled()){
+            projections.forEach(projection -> projection.add(booking));
+        }
+    }
+
+    void onBookingChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) final BookingChangedEvent event){
+        if(Objects.nonNull(event.previous()) && !event.previous().canceled()){
+            projections.forEach(projection -> projection.remove(event.previous()));
+        }
+        if(Objects.nonNull(event.current()) && !event.current().canceled()){
+            projections.forEach(projection -> projection.add(event.current()));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.host.index;
+
+import com.host.model.BookingSnapshot;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * For every night, the set of properties it is taken in by a booking or a
+ * block, as a bitmap over property ordinals. The properties free for a
+ * range are then the ones missing from the union of its nights.
+ * <p>
+ * A property gets its ordinal the first time one of its bookings is added
+ * and keeps it until {@link #clear()}, so the known properties are the ones
+ * seen with a booking since the last reload. The union is split in slices
+ * of {@value #SLICE_PROPERTIES} properties evaluated in parallel.
+ */
+@ApplicationScoped
+public class NightIndex implements BookingProjection {
+    private static final int SLICE_WORDS = 256;
+    private static final int SLICE_PROPERTIES = SLICE_WORDS * Long.SIZE;
+    private static final int INITIAL_PROPERTIES = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, Night> nights = new HashMap<>();
+    private long[] propertyIds = new long[INITIAL_PROPERTIES];
+
+    @Override
+    public void clear(){
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            nights.clear();
+            propertyIds = new long[INITIAL_PROPERTIES];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(final BookingSnapshot booking){
+        lock.writeLock().lock();
+        try {
+            final int ordinal = ordinals.computeIfAbsent(booking.propertyId(), this::newOrdinal);
+            for(long day = booking.start().toEpochDay(); day < booking.end().toEpochDay(); day++){
+                nights.computeIfAbsent(day, night -> new Night()).take(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(final BookingSnapshot booking){
+        lock.writeLock().lock();
+        try {
+            final Integer ordinal = ordinals.get(booking.propertyId());
+            if(Objects.isNull(ordinal)){
+                return;
+            }
+            for(long day = booking.start().toEpochDay(); day < booking.end().toEpochDay(); day++){
+                final Night night = nights.get(day);
+                if(Objects.nonNull(night) && night.free(ordinal)){
+                    nights.remove(day);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids, in ascending order, of the properties free every night from epoch
+     * day {@code from} to the day before {@code to}: the given ones, or every
+     * known property when {@code candidates} is null. A given property with
+     * no booking is free.
+     */
+    public long[] free(final long from, final long to, final long[] candidates){
+        lock.readLock().lock();
+        try {
+            final long[] taken = taken(from, to);
+            final long[] free = Objects.isNull(candidates) ? known(taken) : unknownOrFree(candidates, taken);
+            Arrays.sort(free);
+            return free;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Union of the nights of the range, one slice of words per task.
+     */
+    private long[] taken(final long from, final long to){
+        final Night[] range = new Night[(int) (to - from)];
+        int found = 0;
+        for(long day = from; day < to; day++){
+            final Night night = nights.get(day);
+            if(Objects.nonNull(night)){
+                range[found++] = night;
+            }
+        }
+        final Night[] takenNights = Arrays.copyOf(range, found);
+        final long[] taken = new long[words(ordinals.size())];
+        final int slices = (taken.length + SLICE_WORDS - 1) / SLICE_WORDS;
+        final IntStream sliceStream = slices > 1 ? IntStream.range(0, slices).parallel() : IntStream.range(0, slices);
+        sliceStream.forEach(slice -> {
+            final int first = slice * SLICE_WORDS;
+            final int last = Math.min(taken.length, first + SLICE_WORDS);
+            for(Night night : takenNights){
+                final int end = Math.min(last, night.words.length);
+                for(int word = first; word < end; word++){
+                    taken[word] |= night.words[word];
+                }
+            }
+        });
+        return taken;
+    }
+
+    private long[] known(final long[] taken){
+        final long[] free = new long[ordinals.size()];
+        int found = 0;
+        for(int ordinal = 0; ordinal < ordinals.size(); ordinal++){
+            if(!isSet(taken, ordinal)){
+                free[found++] = propertyIds[ordinal];
+            }
+        }
+        return Arrays.copyOf(free, found);
+    }
+
+    private long[] unknownOrFree(final long[] candidates, final long[] taken){
+        return Arrays.stream(candidates)
+                .distinct()
+                .filter(propertyId -> {
+                    final Integer ordinal = ordinals.get(propertyId);
+                    return Objects.isNull(ordinal) || !isSet(taken, ordinal);
+                })
+                .toArray();
+    }
+
+    private int newOrdinal(final long propertyId){
+        final int ordinal = ordinals.size();
+        if(ordinal == propertyIds.length){
+            propertyIds = Arrays.copyOf(propertyIds, ordinal * 2);
+        }
+        propertyIds[ordinal] = propertyId;
+        return ordinal;
+    }
+
+    private static boolean isSet(final long[] words, final int ordinal){
+        return (words[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    private static int words(final int bits){
+        return (bits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * The properties taken a night, and how many, so that a night nobody
+     * takes anymore is dropped.
+     */
+    private static final class Night {
+        private long[] words = new long[1];
+        private int taken;
+
+        void take(final int ordinal){
+            final int word = ordinal >>> 6;
+            if(word >= words.length){
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            if((words[word] & (1L << ordinal)) == 0){
+                words[word] |= 1L << ordinal;
+                taken++;
+            }
+        }
+
+        /**
+         * Returns whether the night is free in every property afterwards.
+         */
+        boolean free(final int ordinal){
+            final int word = ordinal >>> 6;
+            if(word < words.length && (words[word] & (1L << ordinal)) != 0){
+                words[word] &= ~(1L << ordinal);
+                taken--;
+            }
+            return taken == 0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.host.index;
+
+import com.host.engine.ConflictEngine;
+import com.host.model.Booking;
+import com.host.model.BookingSnapshot;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * {@link ConflictEngine} holding the non-canceled bookings, used by the write
+ * path to rule out a conflict before it touches the database.
+ * <p>
+ * The engine is fed by {@link BookingProjections}, so it only changes after a
+ * booking transaction commits. Hits are confirmed against the database before
+ * being reported, so entries left behind by changes made outside the service
+ * are dropped the first time they are hit.
+ */
+@ApplicationScoped
+public class OverlapIndex implements BookingProjection {
+
+    private final ConflictEngine engine = new ConflictEngine();
+
+    @Override
+    public void clear(){
+        engine.clear();
+    }
+
+    /**
+     * Returns the non-canceled booking of {@code propertyId} overlapping
+     * {@code [start, end)}, ignoring {@code excludedId}, or null when the range
+     * is free. Must be called inside a transaction.
+     */
+    public Booking findOverlap(final Long propertyId, final LocalDate start,
+                               final LocalDate end, final Long excludedId){
+        final long excluded = Objects.isNull(excludedId) ? ConflictEngine.NONE : excludedId;
+        long candidate;
+        while((candidate = engine.firstConflict(propertyId, day(start), day(end), excluded)) != ConflictEngine.NONE){
+            final Booking booked = Booking.findById(candidate);
+            if(Objects.nonNull(booked) && !booked.canceled && propertyId.equals(booked.propertyId)
+                    && BookingSnapshot.of(booked).overlaps(start, end)){
+                return booked;
+            }
+            engine.remove(propertyId, candidate);
+            if(Objects.nonNull(booked) && !booked.canceled){
+                add(BookingSnapshot.of(booked));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void add(final BookingSnapshot booking){
+        engine.add(booking.propertyId(), booking.id(), day(booking.start()), day(booking.end()));
+    }
+
+    @Override
+    public void remove(final BookingSnapshot booking){
+        engine.remove(booking.propertyId(), booking.id(), day(booking.start()));
+    }
+
+    private static int day(final LocalDate date){
+        return Math.toIntExact(date.toEpochDay());
+    }
+}
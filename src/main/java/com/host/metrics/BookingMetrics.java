@@ -0,0 +1,68 @@
+package com.host.metrics;
+
+import com.host.constants.BookingTypeEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Meters of the booking write path, published on {@code /q/metrics} next to
+ * the {@code @Timed} endpoint timers.
+ */
+@ApplicationScoped
+public class BookingMetrics {
+    public static final String REQUESTS = "booking.requests";
+    public static final String OVERLAP_CHECK = "booking.overlap.check";
+    public static final String REJECTIONS = "booking.rejections";
+    public static final String OPERATION_TAG = "operation";
+    public static final String REASON_TAG = "reason";
+    public static final String TYPE_TAG = "type";
+    public static final String ALREADY_BOOKED = "already_booked";
+    public static final String NOT_FOUND = "not_found";
+    public static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    private final Timer overlapCheck;
+    private final Map<BookingTypeEnum, Counter> alreadyBooked = new EnumMap<>(BookingTypeEnum.class);
+    private final Counter alreadyBookedUnknownType;
+    private final Counter notFound;
+
+    @Inject
+    public BookingMetrics(final MeterRegistry registry){
+        overlapCheck = Timer.builder(OVERLAP_CHECK)
+                .description("Time to look for a booking overlapping the one being written")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(registry);
+        for(BookingTypeEnum type : BookingTypeEnum.values()){
+            alreadyBooked.put(type, rejections(registry, ALREADY_BOOKED, type.name()));
+        }
+        alreadyBookedUnknownType = rejections(registry, ALREADY_BOOKED, UNKNOWN_TYPE);
+        notFound = rejections(registry, NOT_FOUND, UNKNOWN_TYPE);
+    }
+
+    private static Counter rejections(final MeterRegistry registry, final String reason, final String type){
+        return Counter.builder(REJECTIONS)
+                .description("Writes and reads refused with a 400")
+                .tag(REASON_TAG, reason)
+                .tag(TYPE_TAG, type)
+                .register(registry);
+    }
+
+    public Timer overlapCheck(){
+        return overlapCheck;
+    }
+
+    public void alreadyBooked(final BookingTypeEnum type){
+        (Objects.isNull(type) ? alreadyBookedUnknownType : alreadyBooked.get(type)).increment();
+    }
+
+    public void notFound(){
+        notFound.increment();
+    }
+}
@@ -1,16 +1,30 @@
 package com.host.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.host.constants.BookingTypeEnum;
+import com.host.dto.BookingSearchCriteria;
 import com.host.validator.DateAfter;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.quarkus.panache.common.Parameters;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.ToString;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Entity
+@Cacheable
+@Table(indexes = {
+        @Index(name = Booking.OVERLAP_INDEX, columnList = "property_id, canceled, start_date, end_date"),
+        @Index(name = "booking_property_start_idx", columnList = "property_id, start_date, id"),
+        @Index(name = "booking_start_idx", columnList = "start_date, id")
+})
 @DateAfter
 @ToString
 public class Booking extends PanacheEntity {
@@ -20,8 +34,8 @@ public class Booking extends PanacheEntity {
     public static final String START_DATE = "start_date";
     public static final String END = "end";
     public static final String END_DATE = "end_date";
-    public static final String OVERLAP_DATES_BY_PROPERTY_QUERY = "propertyId = ?1 and ((start < ?2 and end > ?2) or (start < ?3 and end > ?3) or (start > ?2 and end < ?3)) and" +
-            " canceled = false";
+    public static final String OVERLAP_INDEX = "booking_overlap_idx";
+    public static final String OVERLAP_DATES_BY_PROPERTY_QUERY = "propertyId = ?1 and canceled = false and start < ?3 and end > ?2";
     @NotNull
     @Column(name = PROPERTY_ID)
     @JsonProperty(PROPERTY_ID)
@@ -41,6 +55,12 @@ public class Booking extends PanacheEntity {
     @NotNull
     public BookingTypeEnum type;
     public boolean canceled;
+    /**
+     * Bumped on every change and sent as the ETag rather than in the body.
+     */
+    @Version
+    @JsonIgnore
+    public Long version;
 
     public static Booking findIfDateIsBooked(final Booking newBooking){
         return find(OVERLAP_DATES_BY_PROPERTY_QUERY,
@@ -52,4 +72,83 @@ public class Booking extends PanacheEntity {
                 newBooking.propertyId, newBooking.start, newBooking.end, bookingId).firstResult();
     }
 
+    public static List<Booking> findEndedOnOrBefore(final LocalDate before, final int limit){
+        return find("end <= ?1 order by id", before).page(0, limit).list();
+    }
+
+    public static Stream<Booking> streamNotCanceled(){
+        return stream("canceled = false");
+    }
+
+    /**
+     * Lowest and highest property id of the non-canceled bookings, or null
+     * when there is none.
+     */
+    public static long[] notCanceledPropertyIdRange(){
+        final Object[] range = getEntityManager()
+                .createQuery("select min(propertyId), max(propertyId) from Booking where canceled = false", Object[].class)
+                .getSingleResult();
+        return Objects.isNull(range[0]) ? null : new long[]{(Long) range[0], (Long) range[1]};
+    }
+
+    /**
+     * Non-canceled bookings of the properties {@code fromPropertyId} to
+     * {@code toPropertyId}, ordered by property, start and id. They are read
+     * as snapshots, so the persistence context does not grow with them.
+     */
+    public static Stream<BookingSnapshot> streamNotCanceledSnapshots(final long fromPropertyId, final long toPropertyId,
+                                                                     final int fetchSize){
+        return getEntityManager()
+                .createQuery("select id, propertyId, personId, start, end, type, version from Booking"
+                        + " where canceled = false and propertyId between ?1 and ?2"
+                        + " order by propertyId, start, id", Object[].class)
+                .setParameter(1, fromPropertyId)
+                .setParameter(2, toPropertyId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(row -> new BookingSnapshot((Long) row[0], (Long) row[1], (Long) row[2], (LocalDate) row[3],
+                        (LocalDate) row[4], (BookingTypeEnum) row[5], false, (Long) row[6]));
+    }
+
+    /**
+     * Bookings matching the criteria ordered by {@code (start, id)}, read with
+     * a keyset predicate so every page costs the same whatever its position.
+     */
+    public static Stream<Booking> search(final BookingSearchCriteria criteria, final int fetchSize){
+        final List<String> predicates = new ArrayList<>();
+        final Parameters parameters = new Parameters();
+        if(Objects.nonNull(criteria.propertyId)){
+            predicates.add("propertyId = :propertyId");
+            parameters.and("propertyId", criteria.propertyId);
+        }
+        if(Objects.nonNull(criteria.personId)){
+            predicates.add("personId = :personId");
+            parameters.and("personId", criteria.personId);
+        }
+        if(Objects.nonNull(criteria.canceled)){
+            predicates.add("canceled = :canceled");
+            parameters.and("canceled", criteria.canceled);
+        }
+        if(Objects.nonNull(criteria.from)){
+            predicates.add("end > :from");
+            parameters.and("from", criteria.from);
+        }
+        if(Objects.nonNull(criteria.to)){
+            predicates.add("start < :to");
+            parameters.and("to", criteria.to);
+        }
+        if(Objects.nonNull(criteria.afterStart)){
+            predicates.add("(start > :afterStart or (start = :afterStart and id > :afterId))");
+            parameters.and("afterStart", criteria.afterStart).and("afterId", criteria.afterId);
+        }
+        final String order = "order by start, id";
+        final String query = predicates.isEmpty() ? order : String.join(" and ", predicates) + " " + order;
+        return find(query, parameters)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .withHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .page(0, criteria.limit)
+                .stream();
+    }
+
 }
@@ -0,0 +1,72 @@
+package com.host.model;
+
+import com.host.constants.BookingTypeEnum;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * A stay moved out of the {@link Booking} table after it ended, under the id
+ * it had there. Writes and overlap checks only read it for bookings starting
+ * before the last archived stay ends.
+ */
+@Entity
+@Table(name = "booking_archive", indexes = {
+        @Index(name = "booking_archive_overlap_idx", columnList = "property_id, canceled, start_date, end_date")
+})
+public class BookingArchive extends PanacheEntityBase {
+    @Id
+    public Long id;
+    @Column(name = Booking.PROPERTY_ID)
+    public Long propertyId;
+    @Column(name = Booking.PERSON_ID)
+    public Long personId;
+    @Column(name = Booking.START_DATE)
+    public LocalDate start;
+    @Column(name = Booking.END_DATE)
+    public LocalDate end;
+    public BookingTypeEnum type;
+    public boolean canceled;
+    public Long version;
+
+    public static BookingArchive of(final Booking booking){
+        final BookingArchive archived = new BookingArchive();
+        archived.id = booking.id;
+        archived.propertyId = booking.propertyId;
+        archived.personId = booking.personId;
+        archived.start = booking.start;
+        archived.end = booking.end;
+        archived.type = booking.type;
+        archived.canceled = booking.canceled;
+        archived.version = booking.version;
+        return archived;
+    }
+
+    /**
+     * Detached {@link Booking} with the archived values, for answers that
+     * expect a booking.
+     */
+    public Booking toBooking(){
+        final Booking booking = new Booking();
+        booking.id = id;
+        booking.propertyId = propertyId;
+        booking.personId = personId;
+        booking.start = start;
+        booking.end = end;
+        booking.type = type;
+        booking.canceled = canceled;
+        booking.version = version;
+        return booking;
+    }
+
+    public static BookingArchive findIfDateIsBooked(final Booking newBooking){
+        return find(Booking.OVERLAP_DATES_BY_PROPERTY_QUERY,
+                newBooking.propertyId, newBooking.start, newBooking.end).firstResult();
+    }
+
+    public static LocalDate lastEnd(){
+        return getEntityManager().createQuery("select max(end) from BookingArchive", LocalDate.class)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,45 @@
+package com.host.model;
+
+import com.host.constants.BookingTypeEnum;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a {@link Booking} row, safe to hand over to in-memory
+ * structures after the managed entity has been changed or detached.
+ */
+public record BookingSnapshot(Long id,
+                              Long propertyId,
+                              Long personId,
+                              LocalDate start,
+                              LocalDate end,
+                              BookingTypeEnum type,
+                              boolean canceled,
+                              Long version) {
+
+    public static BookingSnapshot of(final Booking booking){
+        return new BookingSnapshot(booking.id, booking.propertyId, booking.personId,
+                booking.start, booking.end, booking.type, booking.canceled, booking.version);
+    }
+
+    /**
+     * Detached {@link Booking} with the same values, for answers that expect
+     * a booking.
+     */
+    public Booking toBooking(){
+        final Booking booking = new Booking();
+        booking.id = id;
+        booking.propertyId = propertyId;
+        booking.personId = personId;
+        booking.start = start;
+        booking.end = end;
+        booking.type = type;
+        booking.canceled = canceled;
+        booking.version = version;
+        return booking;
+    }
+
+    public boolean overlaps(final LocalDate otherStart, final LocalDate otherEnd){
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
@@ -0,0 +1,67 @@
+package com.host.provider;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes {@value WireFormats#APPLICATION_CBOR} bodies with the
+ * CBOR mapper of {@link WireFormats}. Raw bodies, such as a streamed page,
+ * are left to the providers that already handle them.
+ */
+@Provider
+@Consumes(WireFormats.APPLICATION_CBOR)
+@Produces(WireFormats.APPLICATION_CBOR)
+public class CborProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+    private static final List<Class<?>> RAW_TYPES = List.of(InputStream.class, OutputStream.class, Reader.class,
+            Writer.class, StreamingOutput.class, String.class, byte[].class, char[].class);
+
+    @Inject
+    WireFormats wireFormats;
+
+    @Override
+    public boolean isReadable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                              final MediaType mediaType){
+        return !isRaw(type);
+    }
+
+    @Override
+    public Object readFrom(final Class<Object> type, final Type genericType, final Annotation[] annotations,
+                           final MediaType mediaType, final MultivaluedMap<String, String> httpHeaders,
+                           final InputStream entityStream) throws IOException {
+        return wireFormats.cbor().readerFor(wireFormats.cbor().constructType(genericType)).readValue(entityStream);
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType){
+        return !isRaw(type);
+    }
+
+    @Override
+    public void writeTo(final Object value, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        wireFormats.cbor().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(entityStream, value);
+    }
+
+    private static boolean isRaw(final Class<?> type){
+        return RAW_TYPES.stream().anyMatch(raw -> raw.isAssignableFrom(type));
+    }
+}
@@ -0,0 +1,43 @@
+package com.host.provider;
+
+import io.quarkus.hibernate.validator.runtime.jaxrs.ResteasyViolationExceptionMapper;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.resteasy.api.validation.ResteasyViolationException;
+import org.jboss.resteasy.api.validation.Validation;
+import org.jboss.resteasy.api.validation.ViolationReport;
+
+/**
+ * Answers the violations of a {@code @Valid} body in CBOR to the clients
+ * preferring it, with the same report JSON clients get. The Quarkus mapper
+ * it extends only knows JSON, XML and plain text.
+ */
+@Provider
+@Priority(Priorities.USER - 1)
+public class CborViolationExceptionMapper extends ResteasyViolationExceptionMapper {
+
+    @Context
+    HttpHeaders httpHeaders;
+
+    @Override
+    protected Response buildViolationReportResponse(final ResteasyViolationException exception){
+        for(MediaType acceptable : httpHeaders.getAcceptableMediaTypes()){
+            if(acceptable.isCompatible(MediaType.APPLICATION_JSON_TYPE)){
+                break;
+            }
+            if(acceptable.isCompatible(WireFormats.APPLICATION_CBOR_TYPE)){
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .header(Validation.VALIDATION_HEADER, true)
+                    .entity(new ViolationReport(exception))
+                    .type(WireFormats.APPLICATION_CBOR_TYPE)
+                    .build();
+            }
+        }
+        return super.buildViolationReportResponse(exception);
+    }
+}
@@ -0,0 +1,53 @@
+package com.host.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Variant;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The formats bookings travel in: JSON, and CBOR for the clients sending
+ * them at high rates. CBOR is written by a copy of the JSON mapper, so it
+ * carries the same property names and the same ISO dates, only encoded in
+ * binary.
+ */
+@ApplicationScoped
+public class WireFormats {
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final List<Variant> variants = Variant.mediaTypes(MediaType.APPLICATION_JSON_TYPE, APPLICATION_CBOR_TYPE).build();
+
+    @Inject
+    public WireFormats(final ObjectMapper objectMapper){
+        this.json = objectMapper;
+        this.cbor = objectMapper.copyWith(new CBORFactory());
+    }
+
+    public ObjectMapper cbor(){
+        return cbor;
+    }
+
+    /**
+     * Mapper for a request or response body of the given type, JSON when none
+     * is given.
+     */
+    public ObjectMapper of(final MediaType mediaType){
+        return Objects.nonNull(mediaType) && mediaType.isCompatible(APPLICATION_CBOR_TYPE) ? cbor : json;
+    }
+
+    /**
+     * The formats in order of preference, to pick one with
+     * {@link jakarta.ws.rs.core.Request#selectVariant}.
+     */
+    public List<Variant> variants(){
+        return variants;
+    }
+}
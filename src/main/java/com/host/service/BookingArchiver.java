@@ -0,0 +1,108 @@
+package com.host.service;
+
+import com.host.constants.ChangeTypeEnum;
+import com.host.event.BookingChangedEvent;
+import com.host.model.Booking;
+import com.host.model.BookingArchive;
+import com.host.model.BookingSnapshot;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Moves the stays that ended into {@link BookingArchive}, so the booking
+ * table, its indexes and the in-memory projections only hold current and
+ * future stays. The archive is read only for bookings starting before the
+ * last archived stay ends, the horizon, and for ids no longer in the
+ * booking table.
+ */
+@ApplicationScoped
+public class BookingArchiver {
+
+    @Inject
+    PropertyLocks propertyLocks;
+    @Inject
+    Event<BookingChangedEvent> bookingChanged;
+    @ConfigProperty(name = "booking.archive.retention-days", defaultValue = "30")
+    long retentionDays;
+    @ConfigProperty(name = "booking.batch.chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    private final AtomicReference<LocalDate> horizon = new AtomicReference<>(LocalDate.MIN);
+
+    @Transactional
+    void onStart(@Observes final StartupEvent event){
+        final LocalDate lastEnd = BookingArchive.lastEnd();
+        if(Objects.nonNull(lastEnd)){
+            horizon.set(lastEnd);
+        }
+    }
+
+    @Scheduled(cron = "{booking.archive.cron}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void archivePastStays(){
+        archive(LocalDate.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Archives the stays ending on or before {@code before}, a chunk per
+     * transaction, each under the locks of the properties it touches.
+     * Returns how many were moved.
+     */
+    public int archive(final LocalDate before){
+        int archived = 0;
+        List<Booking> chunk;
+        do {
+            chunk = QuarkusTransaction.requiringNew().call(() -> Booking.findEndedOnOrBefore(before, chunkSize));
+            final Set<Long> ids = chunk.stream().map(booking -> booking.id).collect(Collectors.toSet());
+            final Set<Long> propertyIds = chunk.stream().map(booking -> booking.propertyId).collect(Collectors.toSet());
+            archived += propertyLocks.withLocks(propertyIds, () ->
+                    QuarkusTransaction.requiringNew().call(() -> archiveInTransaction(ids, before)));
+        } while(chunk.size() == chunkSize);
+        return archived;
+    }
+
+    /**
+     * Reads the chunk again under the locks, since a booking may have been
+     * moved forward or removed since it was picked.
+     */
+    private int archiveInTransaction(final Set<Long> ids, final LocalDate before){
+        final List<Booking> bookings = Booking.list("id in ?1 and end <= ?2", ids, before);
+        for(Booking booking : bookings){
+            BookingArchive.of(booking).persist();
+            booking.delete();
+            horizon.accumulateAndGet(booking.end, (current, end) -> end.isAfter(current) ? end : current);
+            bookingChanged.fire(new BookingChangedEvent(BookingSnapshot.of(booking), null, ChangeTypeEnum.ARCHIVED));
+        }
+        return bookings.size();
+    }
+
+    /**
+     * Whether a booking starting on {@code start} may overlap an archived stay.
+     */
+    public boolean reaches(final LocalDate start){
+        return start.isBefore(horizon.get());
+    }
+
+    public Booking findOverlap(final Booking booking){
+        final BookingArchive archived = BookingArchive.findIfDateIsBooked(booking);
+        return Objects.isNull(archived) ? null : archived.toBooking();
+    }
+
+    public Booking find(final Long id){
+        final BookingArchive archived = BookingArchive.findById(id);
+        return Objects.isNull(archived) ? null : archived.toBooking();
+    }
+}
@@ -0,0 +1,170 @@
+package com.host.service;
+
+import com.host.constants.AuditFindingTypeEnum;
+import com.host.dto.AuditFindingWrapper;
+import com.host.dto.AuditSummaryWrapper;
+import com.host.model.Booking;
+import com.host.model.BookingSnapshot;
+import com.host.validator.DateAfterValidator;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Looks for what the write path should have refused: non-canceled bookings
+ * of a property overlapping each other, and bookings missing a date or not
+ * ending after they start, as left by migrations or edits made straight in
+ * the database.
+ * <p>
+ * The property ids are split in ranges checked in parallel on a fork-join
+ * pool of {@code booking.audit.parallelism} threads, each holding a
+ * connection. A range is read in property, start and id order with a sweep
+ * that only remembers the booking reaching furthest, so memory does not grow
+ * with the table. Only the booking table is read, which is empty with the
+ * write-ahead log persistence.
+ */
+@ApplicationScoped
+public class BookingAuditor {
+    private static final int RANGES_PER_THREAD = 8;
+
+    @ConfigProperty(name = "booking.audit.parallelism", defaultValue = "4")
+    int parallelism;
+    @ConfigProperty(name = "booking.audit.fetch-size", defaultValue = "1000")
+    int fetchSize;
+    @ConfigProperty(name = "booking.audit.timeout", defaultValue = "1H")
+    Duration timeout;
+
+    private final DateAfterValidator dateAfterValidator = new DateAfterValidator();
+
+    /**
+     * Checks every non-canceled booking, handing each finding to
+     * {@code findings} as soon as it is found, from any of the pool threads.
+     */
+    public AuditSummaryWrapper audit(final Consumer<AuditFindingWrapper> findings){
+        final long started = System.nanoTime();
+        final Counts counts = new Counts();
+        final long[] range = QuarkusTransaction.requiringNew().call(Booking::notCanceledPropertyIdRange);
+        if(Objects.nonNull(range)){
+            final long ranges = Math.max(1, Math.min((long) parallelism * RANGES_PER_THREAD, range[1] - range[0] + 1));
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new RangeAudit(range[0], range[1], ranges, findings, counts));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return AuditSummaryWrapper.builder()
+                .type(AuditFindingTypeEnum.SUMMARY)
+                .bookings(counts.bookings.sum())
+                .properties(counts.properties.sum())
+                .conflicts(counts.conflicts.sum())
+                .invalidDates(counts.invalidDates.sum())
+                .elapsedMillis(Duration.ofNanos(System.nanoTime() - started).toMillis())
+                .build();
+    }
+
+    /**
+     * Property ids {@code from} to {@code to}, split in halves until a part
+     * is a single range.
+     */
+    private final class RangeAudit extends RecursiveAction {
+        private final long from;
+        private final long to;
+        private final long ranges;
+        private final Consumer<AuditFindingWrapper> findings;
+        private final Counts counts;
+
+        RangeAudit(final long from, final long to, final long ranges,
+                   final Consumer<AuditFindingWrapper> findings, final Counts counts){
+            this.from = from;
+            this.to = to;
+            this.ranges = ranges;
+            this.findings = findings;
+            this.counts = counts;
+        }
+
+        @Override
+        protected void compute(){
+            if(ranges > 1){
+                final long middle = from + (to - from) / 2;
+                invokeAll(new RangeAudit(from, middle, ranges / 2, findings, counts),
+                        new RangeAudit(middle + 1, to, ranges - ranges / 2, findings, counts));
+                return;
+            }
+            QuarkusTransaction.requiringNew().timeout((int) timeout.toSeconds()).run(() -> {
+                try(Stream<BookingSnapshot> bookings = Booking.streamNotCanceledSnapshots(from, to, fetchSize)){
+                    final Sweep sweep = new Sweep(findings, counts);
+                    bookings.forEach(sweep::accept);
+                }
+            });
+        }
+    }
+
+    /**
+     * Bookings come ordered by property and start, so a booking overlaps an
+     * earlier one of its property exactly when it starts before the furthest
+     * end seen so far in that property.
+     */
+    private final class Sweep implements Consumer<BookingSnapshot> {
+        private final Consumer<AuditFindingWrapper> findings;
+        private final Counts counts;
+        private Long propertyId;
+        private BookingSnapshot furthest;
+
+        Sweep(final Consumer<AuditFindingWrapper> findings, final Counts counts){
+            this.findings = findings;
+            this.counts = counts;
+        }
+
+        @Override
+        public void accept(final BookingSnapshot booking){
+            counts.bookings.increment();
+            if(!booking.propertyId().equals(propertyId)){
+                counts.properties.increment();
+                propertyId = booking.propertyId();
+                furthest = null;
+            }
+            if(Objects.isNull(booking.start()) || Objects.isNull(booking.end())
+                    || !dateAfterValidator.isValid(booking.toBooking(), null)){
+                counts.invalidDates.increment();
+                findings.accept(AuditFindingWrapper.builder()
+                        .type(AuditFindingTypeEnum.INVALID_DATES)
+                        .propertyId(booking.propertyId())
+                        .booking(booking.toBooking())
+                        .build());
+                return;
+            }
+            if(Objects.isNull(furthest)){
+                furthest = booking;
+                return;
+            }
+            if(booking.start().isBefore(furthest.end())){
+                counts.conflicts.increment();
+                findings.accept(AuditFindingWrapper.builder()
+                        .type(AuditFindingTypeEnum.CONFLICT)
+                        .propertyId(booking.propertyId())
+                        .booking(booking.toBooking())
+                        .conflicting(furthest.toBooking())
+                        .build());
+            }
+            if(booking.end().isAfter(furthest.end())){
+                furthest = booking;
+            }
+        }
+    }
+
+    private static final class Counts {
+        private final LongAdder bookings = new LongAdder();
+        private final LongAdder properties = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder invalidDates = new LongAdder();
+    }
+}
@@ -0,0 +1,101 @@
+package com.host.service;
+
+import com.host.constants.ExecutionModeEnum;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking part of the booking endpoints. In {@code worker} mode it
+ * runs on the HTTP worker thread that took the request. In {@code pool} mode
+ * the worker thread is handed back as soon as the endpoint returns and the
+ * work runs on a pool as large as the connection pool, so requests waiting
+ * for a connection wait in the queue instead of holding worker threads.
+ * In {@code virtual} mode every request gets its own virtual thread, and
+ * only as many of them as the pool size hold a connection at a time; the
+ * rest stay parked on a semaphore rather than time out inside the
+ * connection pool. The response is written from a worker thread, since
+ * RESTEasy writes it holding a monitor that would pin the virtual thread to
+ * its carrier. In both modes work beyond the queue size is rejected.
+ */
+@ApplicationScoped
+public class BookingExecutor {
+
+    private final ExecutionModeEnum mode;
+    private final ThreadContext threadContext;
+    private final ManagedExecutor workerPool;
+    private final ExecutorService pool;
+    private final Semaphore connections;
+    private final int queueSize;
+
+    @Inject
+    public BookingExecutor(@ConfigProperty(name = "booking.execution.mode", defaultValue = "worker") final ExecutionModeEnum mode,
+                           @ConfigProperty(name = "booking.execution.pool-size", defaultValue = "20") final int poolSize,
+                           @ConfigProperty(name = "booking.execution.queue-size", defaultValue = "10000") final int queueSize,
+                           final ThreadContext threadContext,
+                           final ManagedExecutor workerPool){
+        this.mode = mode;
+        this.threadContext = threadContext;
+        this.workerPool = workerPool;
+        this.queueSize = queueSize;
+        this.connections = new Semaphore(poolSize, true);
+        this.pool = switch(mode){
+            case WORKER -> null;
+            case POOL -> new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize));
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+        };
+    }
+
+    /**
+     * The returned stage fails with a {@link RejectedExecutionException} when
+     * the queue is full, as it does with whatever the operation throws.
+     */
+    public <T> CompletionStage<T> submit(final Supplier<T> operation){
+        try {
+            if(mode == ExecutionModeEnum.WORKER){
+                return CompletableFuture.completedFuture(operation.get());
+            }
+            final Supplier<T> contextualOperation = threadContext.contextualSupplier(operation);
+            if(mode == ExecutionModeEnum.POOL){
+                return CompletableFuture.supplyAsync(contextualOperation, pool);
+            }
+            return CompletableFuture.supplyAsync(() -> withConnection(contextualOperation), pool)
+                    .whenCompleteAsync((result, failure) -> {}, workerPool);
+        } catch(final RuntimeException e){
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T withConnection(final Supplier<T> operation){
+        if(connections.getQueueLength() >= queueSize){
+            throw new RejectedExecutionException();
+        }
+        connections.acquireUninterruptibly();
+        try {
+            return operation.get();
+        } finally {
+            connections.release();
+        }
+    }
+
+    @PreDestroy
+    void shutdown(){
+        if(mode != ExecutionModeEnum.WORKER){
+            pool.shutdown();
+        }
+    }
+}
@@ -1,11 +1,36 @@
 package com.host.service;
 
+import com.host.dto.BookingSearchCriteria;
+import com.host.exception.PropertyAlreadyBookedException;
 import com.host.model.Booking;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface BookingService {
     void create(final Booking booking);
+    /**
+     * Creates the given bookings in a single transaction. Returns, position by
+     * position, the conflict that kept a booking out, or null when it was created.
+     */
+    List<PropertyAlreadyBookedException> createAll(final List<Booking> bookings);
+    /**
+     * Applies the non-null fields of {@code booking}. When its
+     * {@code version} is set the update is refused with a
+     * {@link com.host.exception.BookingVersionMismatchException} unless the
+     * stored booking is still at that version.
+     */
     void update(final Long id,
                        final Booking booking);
     void remove(final Long id);
     Booking get(final Long id);
+    /**
+     * Like {@link #get(Long)}, also looking in the archived stays.
+     */
+    Booking getIncludingArchived(final Long id);
+    /**
+     * Hands the matching bookings to {@code consumer} one at a time, detached,
+     * so the caller can write them out without holding the whole result.
+     */
+    void search(final BookingSearchCriteria criteria, final Consumer<Booking> consumer);
 }
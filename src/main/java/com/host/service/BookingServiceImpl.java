@@ -1,27 +1,178 @@
 package com.host.service;
 
+import com.host.dto.BookingSearchCriteria;
+import com.host.event.BookingChangedEvent;
+import com.host.exception.BookingVersionMismatchException;
 import com.host.exception.PropertyAlreadyBookedException;
 import com.host.exception.ResourceDoesNotExistException;
+import com.host.index.OverlapIndex;
+import com.host.metrics.BookingMetrics;
 import com.host.model.Booking;
+import com.host.model.BookingSnapshot;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Every write runs in its own transaction inside the lock of the property it
+ * touches, so the overlap check, the commit and the update of the in-memory
+ * projections happen as one step for that property.
+ * <p>
+ * With {@code booking.group-commit.enabled} single creates and updates are
+ * instead queued and written in groups, one transaction per group, see
+ * {@link #commitGroup(List)}.
+ */
 @ApplicationScoped
+@IfBuildProperty(name = "booking.persistence", stringValue = "jpa", enableIfMissing = true)
 public class BookingServiceImpl implements BookingService{
 
-    @Transactional
+    @Inject
+    OverlapIndex overlapIndex;
+    @Inject
+    PropertyLocks propertyLocks;
+    @Inject
+    BookingArchiver bookingArchiver;
+    @Inject
+    BookingMetrics bookingMetrics;
+    @Inject
+    Event<BookingChangedEvent> bookingChanged;
+    @ConfigProperty(name = "booking.overlap-index.enabled", defaultValue = "true")
+    boolean overlapIndexEnabled;
+    @Inject
+    Validator validator;
+    @ConfigProperty(name = "booking.search.fetch-size", defaultValue = "500")
+    int searchFetchSize;
+    @ConfigProperty(name = "booking.group-commit.enabled", defaultValue = "false")
+    boolean groupCommitEnabled;
+    @ConfigProperty(name = "booking.group-commit.window", defaultValue = "2ms")
+    Duration groupCommitWindow;
+    @ConfigProperty(name = "booking.group-commit.max-size", defaultValue = "500")
+    int groupCommitMaxSize;
+
+    private GroupCommitQueue<PendingWrite> writeGroups;
+
+    @PostConstruct
+    void startGroupCommit(){
+        if(groupCommitEnabled){
+            writeGroups = new GroupCommitQueue<>("booking-group-commit", groupCommitWindow, groupCommitMaxSize, this::commitGroup,
+                    (write, failure) -> write.done.completeExceptionally(failure));
+        }
+    }
+
+    @PreDestroy
+    void stopGroupCommit() throws InterruptedException {
+        if(Objects.nonNull(writeGroups)){
+            writeGroups.close();
+        }
+    }
+
     public void create(final Booking booking) {
-        verifyAlreadyBooked(booking, Booking.findIfDateIsBooked(booking));
-        booking.persistAndFlush();
+        if(Objects.nonNull(writeGroups)){
+            submit(new PendingWrite(null, booking));
+            return;
+        }
+        createAlone(booking);
     }
-    @Transactional
+
+    private void createAlone(final Booking booking) {
+        propertyLocks.withLock(booking.propertyId, () -> QuarkusTransaction.requiringNew().run(() -> {
+            verifyAlreadyBooked(booking, findOverlap(booking, null));
+            booking.persistAndFlush();
+            bookingChanged.fire(new BookingChangedEvent(null, BookingSnapshot.of(booking)));
+        }));
+    }
+
+    public List<PropertyAlreadyBookedException> createAll(final List<Booking> bookings) {
+        final Set<Long> propertyIds = bookings.stream().map(booking -> booking.propertyId).collect(Collectors.toSet());
+        return propertyLocks.withLocks(propertyIds, () ->
+                QuarkusTransaction.requiringNew().call(() -> createAllInTransaction(bookings)));
+    }
+
+    private List<PropertyAlreadyBookedException> createAllInTransaction(final List<Booking> bookings) {
+        final List<PropertyAlreadyBookedException> conflicts = new ArrayList<>(bookings.size());
+        final Map<Long, TreeMap<LocalDate, Booking>> acceptedByProperty = new HashMap<>();
+        final List<Booking> accepted = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            final TreeMap<LocalDate, Booking> acceptedForProperty =
+                    acceptedByProperty.computeIfAbsent(booking.propertyId, id -> new TreeMap<>());
+            Booking alreadyBooked = findOverlapInBatch(acceptedForProperty, booking);
+            if(Objects.isNull(alreadyBooked)){
+                alreadyBooked = findOverlap(booking, null);
+            }
+            if(Objects.nonNull(alreadyBooked)){
+                conflicts.add(new PropertyAlreadyBookedException(alreadyBooked, booking));
+                continue;
+            }
+            acceptedForProperty.put(booking.start, booking);
+            accepted.add(booking);
+            conflicts.add(null);
+        }
+        Booking.persist(accepted);
+        Booking.flush();
+        accepted.forEach(booking -> bookingChanged.fire(new BookingChangedEvent(null, BookingSnapshot.of(booking))));
+        return conflicts;
+    }
+
+    /**
+     * Bookings accepted earlier in the same batch are disjoint, so only the one
+     * starting last before the candidate ends can overlap it.
+     */
+    private static Booking findOverlapInBatch(final TreeMap<LocalDate, Booking> accepted, final Booking booking) {
+        final Map.Entry<LocalDate, Booking> previous = accepted.lowerEntry(booking.end);
+        if(Objects.nonNull(previous) && previous.getValue().end.isAfter(booking.start)){
+            return previous.getValue();
+        }
+        return null;
+    }
+
     public void update(final Long id,
                        final Booking booking){
-        final Booking dbBooking = get(id);
-        System.out.println(Booking.findAll());
-        verifyAlreadyBooked(booking, Booking.findIfDateIsBookedForUpdate(id, booking));
+        if(Objects.nonNull(writeGroups)){
+            submit(new PendingWrite(id, booking));
+            return;
+        }
+        updateAlone(id, booking);
+    }
+
+    private void updateAlone(final Long id,
+                             final Booking booking){
+        final Long propertyId = QuarkusTransaction.joiningExisting().call(() -> verifyVersion(get(id), booking).propertyId);
+        propertyLocks.withLock(propertyId, () -> QuarkusTransaction.requiringNew().run(() -> updateInTransaction(id, booking)));
+    }
+
+    private void updateInTransaction(final Long id,
+                                     final Booking booking){
+        final Booking dbBooking = verifyVersion(get(id), booking);
+        final BookingSnapshot previous = BookingSnapshot.of(dbBooking);
+        final Booking updatedBooking = verifyValid(merge(dbBooking, booking));
+        if(!updatedBooking.canceled){
+            verifyAlreadyBooked(updatedBooking, findOverlap(updatedBooking, id));
+        }
 
         if(Objects.nonNull(booking.personId)){
             dbBooking.personId = booking.personId;
@@ -38,6 +189,274 @@ public class BookingServiceImpl implements BookingService{
         if(Objects.nonNull(booking.canceled)){
             dbBooking.canceled = booking.canceled;
         }
+        Booking.flush();
+        bookingChanged.fire(new BookingChangedEvent(previous, BookingSnapshot.of(dbBooking)));
+    }
+
+    /**
+     * The booking as it will look once the patch is applied, without touching
+     * the managed entity. The property is always the stored one.
+     */
+    private static Booking merge(final Booking dbBooking, final Booking booking) {
+        final Booking updatedBooking = new Booking();
+        updatedBooking.id = dbBooking.id;
+        updatedBooking.propertyId = dbBooking.propertyId;
+        updatedBooking.type = dbBooking.type;
+        updatedBooking.personId = Objects.nonNull(booking.personId) ? booking.personId : dbBooking.personId;
+        updatedBooking.start = Objects.nonNull(booking.start) ? booking.start : dbBooking.start;
+        updatedBooking.end = Objects.nonNull(booking.end) ? booking.end : dbBooking.end;
+        updatedBooking.canceled = booking.canceled;
+        updatedBooking.version = changes(dbBooking, updatedBooking) ? dbBooking.version + 1 : dbBooking.version;
+        return updatedBooking;
+    }
+
+    /**
+     * Checked before the entity is touched, so an invalid patch is refused
+     * without a flush and a rollback.
+     */
+    private Booking verifyValid(final Booking updatedBooking) {
+        final Set<ConstraintViolation<Booking>> violations = validator.validate(updatedBooking);
+        if(!violations.isEmpty()){
+            throw new ConstraintViolationException(violations);
+        }
+        return updatedBooking;
+    }
+
+    private static boolean changes(final Booking dbBooking, final Booking updatedBooking) {
+        return !Objects.equals(dbBooking.personId, updatedBooking.personId)
+                || !Objects.equals(dbBooking.start, updatedBooking.start)
+                || !Objects.equals(dbBooking.end, updatedBooking.end)
+                || dbBooking.canceled != updatedBooking.canceled;
+    }
+
+    /**
+     * The version the patch was made against, when given, has to be the
+     * stored one.
+     */
+    private static Booking verifyVersion(final Booking dbBooking, final Booking booking) {
+        if(Objects.nonNull(booking.version) && !booking.version.equals(dbBooking.version)){
+            throw new BookingVersionMismatchException(dbBooking.id, dbBooking.version);
+        }
+        return dbBooking;
+    }
+
+    private Booking findOverlap(final Booking booking, final Long excludedId) {
+        return bookingMetrics.overlapCheck().record(() -> findOverlapUntimed(booking, excludedId));
+    }
+
+    private Booking findOverlapUntimed(final Booking booking, final Long excludedId) {
+        final Booking alreadyBooked = findCurrentOverlap(booking, excludedId);
+        if(Objects.isNull(alreadyBooked) && bookingArchiver.reaches(booking.start)){
+            return bookingArchiver.findOverlap(booking);
+        }
+        return alreadyBooked;
+    }
+
+    private Booking findCurrentOverlap(final Booking booking, final Long excludedId) {
+        if(overlapIndexEnabled){
+            return overlapIndex.findOverlap(booking.propertyId, booking.start, booking.end, excludedId);
+        }
+        return Objects.isNull(excludedId) ? Booking.findIfDateIsBooked(booking) :
+                Booking.findIfDateIsBookedForUpdate(excludedId, booking);
+    }
+
+    private void submit(final PendingWrite write) {
+        writeGroups.submit(write);
+        try {
+            write.done.join();
+        } catch(final CompletionException e){
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Versions only grow, so a patch made against an older one can be refused
+     * before the group is locked. A newer one may still be reached by the
+     * writes ahead of it in the group.
+     */
+    private static Booking verifyVersionNotOlder(final Booking dbBooking, final Booking booking) {
+        if(Objects.nonNull(booking.version) && booking.version < dbBooking.version){
+            throw new BookingVersionMismatchException(dbBooking.id, dbBooking.version);
+        }
+        return dbBooking;
+    }
+
+    /**
+     * Takes the locks of every property in the group and checks its writes in
+     * order, each against the stored bookings and the writes accepted before
+     * it in the group. No entity is touched until every write is checked, so
+     * the checks only ever see committed bookings. The accepted writes are
+     * then committed together, each update flushed on its own so that it
+     * bumps the version once, and every caller is answered with its own
+     * outcome. When the commit fails the writes are retried one by
+     * one, so that a failing write only fails its own caller.
+     */
+    private void commitGroup(final List<PendingWrite> writes) {
+        final List<PendingWrite> resolved;
+        try {
+            resolved = resolvePropertyIds(writes);
+        } catch(final RuntimeException e){
+            writes.forEach(write -> write.done.completeExceptionally(e));
+            return;
+        }
+        try {
+            final Set<Long> propertyIds = resolved.stream().map(write -> write.propertyId).collect(Collectors.toSet());
+            propertyLocks.withLocks(propertyIds, () -> QuarkusTransaction.requiringNew().run(() -> applyGroup(resolved)));
+        } catch(final RuntimeException e){
+            resolved.forEach(this::commitAlone);
+            return;
+        }
+        resolved.forEach(write -> {
+            if(Objects.isNull(write.failure)){
+                write.done.complete(null);
+            } else {
+                write.done.completeExceptionally(write.failure);
+            }
+        });
+    }
+
+    private List<PendingWrite> resolvePropertyIds(final List<PendingWrite> writes) {
+        final List<PendingWrite> resolved = new ArrayList<>(writes.size());
+        QuarkusTransaction.requiringNew().run(() -> writes.forEach(write -> {
+            try {
+                write.propertyId = write.isCreate() ? write.booking.propertyId :
+                        verifyVersionNotOlder(get(write.id), write.booking).propertyId;
+                resolved.add(write);
+            } catch(final ResourceDoesNotExistException | BookingVersionMismatchException e){
+                write.done.completeExceptionally(e);
+            }
+        }));
+        return resolved;
+    }
+
+    private void applyGroup(final List<PendingWrite> writes) {
+        final Map<Long, WriteGroup> groups = new HashMap<>();
+        for(PendingWrite write : writes){
+            final WriteGroup group = groups.computeIfAbsent(write.propertyId, id -> new WriteGroup());
+            try {
+                bookingMetrics.overlapCheck().record(() -> {
+                    if(write.isCreate()){
+                        checkCreate(group, write.booking);
+                    } else {
+                        write.updated = checkUpdate(group, write.id, write.booking);
+                    }
+                });
+            } catch(final PropertyAlreadyBookedException | ConstraintViolationException
+                          | BookingVersionMismatchException e){
+                write.failure = e;
+            }
+        }
+        final List<BookingChangedEvent> changes = new ArrayList<>(writes.size());
+        for(PendingWrite write : writes){
+            if(Objects.nonNull(write.failure)){
+                continue;
+            }
+            if(write.isCreate()){
+                write.booking.persist();
+                changes.add(new BookingChangedEvent(null, BookingSnapshot.of(write.booking)));
+            } else {
+                final Booking dbBooking = get(write.id);
+                final BookingSnapshot previous = BookingSnapshot.of(dbBooking);
+                final Booking updatedBooking = write.updated;
+                dbBooking.personId = updatedBooking.personId;
+                dbBooking.start = updatedBooking.start;
+                dbBooking.end = updatedBooking.end;
+                dbBooking.canceled = updatedBooking.canceled;
+                Booking.flush();
+                changes.add(new BookingChangedEvent(previous, BookingSnapshot.of(dbBooking)));
+            }
+        }
+        Booking.flush();
+        changes.forEach(bookingChanged::fire);
+    }
+
+    private void checkCreate(final WriteGroup group, final Booking booking) {
+        Booking alreadyBooked = findOverlapInBatch(group.accepted, booking);
+        if(Objects.isNull(alreadyBooked)){
+            alreadyBooked = findCommittedOverlap(group, booking.propertyId, booking.start, booking.end, null);
+        }
+        verifyAlreadyBooked(booking, alreadyBooked);
+        group.accepted.put(booking.start, booking);
+    }
+
+    /**
+     * Checks the patch against the booking as left by the earlier writes of
+     * the group. The range that booking held in the group is given up while
+     * the patch is checked, and taken back if the patch is rejected.
+     */
+    private Booking checkUpdate(final WriteGroup group, final Long id, final Booking booking) {
+        final Booking earlier = group.updated.get(id);
+        final Booking updatedBooking = verifyValid(merge(verifyVersion(Objects.isNull(earlier) ? get(id) : earlier, booking), booking));
+        final boolean heldRange = Objects.nonNull(earlier) && !earlier.canceled;
+        if(heldRange){
+            group.accepted.remove(earlier.start);
+        }
+        try {
+            if(!updatedBooking.canceled){
+                Booking alreadyBooked = findOverlapInBatch(group.accepted, updatedBooking);
+                if(Objects.isNull(alreadyBooked)){
+                    alreadyBooked = findCommittedOverlap(group, updatedBooking.propertyId, updatedBooking.start, updatedBooking.end, id);
+                }
+                verifyAlreadyBooked(updatedBooking, alreadyBooked);
+            }
+        } catch(final RuntimeException e){
+            if(heldRange){
+                group.accepted.put(earlier.start, earlier);
+            }
+            throw e;
+        }
+        group.updated.put(id, updatedBooking);
+        if(!updatedBooking.canceled){
+            group.accepted.put(updatedBooking.start, updatedBooking);
+        }
+        return updatedBooking;
+    }
+
+    /**
+     * Overlap with the committed bookings, skipping those an earlier write of
+     * the group moved or canceled: their stored range is left on both sides
+     * of such a booking, where the rest of the range is looked at again.
+     */
+    private Booking findCommittedOverlap(final WriteGroup group, final Long propertyId,
+                                         final LocalDate start, final LocalDate end, final Long excludedId) {
+        if(!start.isBefore(end)){
+            return null;
+        }
+        final Booking range = new Booking();
+        range.propertyId = propertyId;
+        range.start = start;
+        range.end = end;
+        final Booking alreadyBooked = findCurrentOverlap(range, excludedId);
+        if(Objects.isNull(alreadyBooked)){
+            return bookingArchiver.reaches(start) ? bookingArchiver.findOverlap(range) : null;
+        }
+        if(!group.updated.containsKey(alreadyBooked.id)){
+            return alreadyBooked;
+        }
+        final Booking before = findCommittedOverlap(group, propertyId, start,
+                alreadyBooked.start.isBefore(end) ? alreadyBooked.start : end, excludedId);
+        if(Objects.nonNull(before)){
+            return before;
+        }
+        return findCommittedOverlap(group, propertyId,
+                alreadyBooked.end.isAfter(start) ? alreadyBooked.end : start, end, excludedId);
+    }
+
+    private void commitAlone(final PendingWrite write) {
+        try {
+            if(write.isCreate()){
+                write.booking.id = null;
+                createAlone(write.booking);
+            } else {
+                updateAlone(write.id, write.booking);
+            }
+            write.done.complete(null);
+        } catch(final RuntimeException e){
+            write.done.completeExceptionally(e);
+        }
     }
 
     private static void verifyAlreadyBooked(final Booking booking, final Booking alreadyBooked) {
@@ -46,10 +465,13 @@ public class BookingServiceImpl implements BookingService{
         }
     }
 
-    @Transactional
     public void remove(final Long id) {
-        get(id);
-        Booking.deleteById(id);
+        final Long propertyId = QuarkusTransaction.joiningExisting().call(() -> get(id).propertyId);
+        propertyLocks.withLock(propertyId, () -> QuarkusTransaction.requiringNew().run(() -> {
+            final BookingSnapshot previous = BookingSnapshot.of(get(id));
+            Booking.deleteById(id);
+            bookingChanged.fire(new BookingChangedEvent(previous, null));
+        }));
     }
 
     public Booking get(final Long id) {
@@ -59,4 +481,58 @@ public class BookingServiceImpl implements BookingService{
         }
         return dbBooking;
     }
+
+    public Booking getIncludingArchived(final Long id) {
+        final Booking dbBooking = Booking.findById(id);
+        if(Objects.nonNull(dbBooking)){
+            return dbBooking;
+        }
+        final Booking archived = bookingArchiver.find(id);
+        if(Objects.isNull(archived)){
+            throw new ResourceDoesNotExistException(id);
+        }
+        return archived;
+    }
+
+    @Transactional
+    public void search(final BookingSearchCriteria criteria, final Consumer<Booking> consumer) {
+        final EntityManager entityManager = Booking.getEntityManager();
+        try(Stream<Booking> bookings = Booking.search(criteria, searchFetchSize)){
+            bookings.forEach(booking -> {
+                entityManager.detach(booking);
+                consumer.accept(booking);
+            });
+        }
+    }
+
+    /**
+     * A create, when {@code id} is null, or an update queued for the next
+     * group, and the outcome its caller waits for.
+     */
+    private static final class PendingWrite {
+        final Long id;
+        final Booking booking;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        Long propertyId;
+        Booking updated;
+        RuntimeException failure;
+
+        PendingWrite(final Long id, final Booking booking){
+            this.id = id;
+            this.booking = booking;
+        }
+
+        boolean isCreate(){
+            return Objects.isNull(id);
+        }
+    }
+
+    /**
+     * Writes of one property accepted so far in a group: the ranges they take,
+     * which are disjoint, and the updated bookings by id.
+     */
+    private static final class WriteGroup {
+        final TreeMap<LocalDate, Booking> accepted = new TreeMap<>();
+        final Map<Long, Booking> updated = new HashMap<>();
+    }
 }
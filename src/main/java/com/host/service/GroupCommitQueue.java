@@ -0,0 +1,120 @@
+package com.host.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Hands the writes submitted by concurrent callers to a single thread that
+ * takes them in groups: the first pending write plus whatever else is
+ * submitted within {@code window} of it, up to {@code maxSize} writes. The
+ * committer is expected to answer every write of the group itself; the
+ * writes of a group it fails on, and the ones still pending when the thread
+ * stops, are handed to {@code abandon} with the cause instead.
+ */
+final class GroupCommitQueue<W> implements AutoCloseable {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<W> pending = new LinkedBlockingQueue<>();
+    private final long windowNanos;
+    private final int maxSize;
+    private final Consumer<List<W>> committer;
+    private final BiConsumer<W, Throwable> abandon;
+    private final Lock lock = new ReentrantLock();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    GroupCommitQueue(final String name, final Duration window, final int maxSize, final Consumer<List<W>> committer,
+                     final BiConsumer<W, Throwable> abandon){
+        this.windowNanos = window.toNanos();
+        this.maxSize = maxSize;
+        this.committer = committer;
+        this.abandon = abandon;
+        this.thread = Thread.ofPlatform().name(name).daemon().start(this::run);
+    }
+
+    /**
+     * Closing takes the same lock, so a write accepted here is always seen
+     * by the committer before it stops.
+     */
+    void submit(final W write){
+        lock.lock();
+        try {
+            if(closed){
+                throw new RejectedExecutionException();
+            }
+            pending.add(write);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops taking writes and waits for the pending ones to be committed.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        stopTaking();
+        thread.join();
+    }
+
+    private void stopTaking(){
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(){
+        final List<W> group = new ArrayList<>(maxSize);
+        try {
+            commitUntilClosed(group);
+        } finally {
+            stopTaking();
+            pending.drainTo(group);
+            group.forEach(write -> abandon.accept(write, new RejectedExecutionException()));
+        }
+    }
+
+    private void commitUntilClosed(final List<W> group){
+        while(!closed || !pending.isEmpty()){
+            try {
+                final W first = pending.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if(first == null){
+                    continue;
+                }
+                group.add(first);
+                final long deadline = System.nanoTime() + windowNanos;
+                while(group.size() < maxSize){
+                    final long remaining = deadline - System.nanoTime();
+                    final W next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if(next == null){
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch(final InterruptedException e){
+                stopTaking();
+            }
+            if(!group.isEmpty()){
+                final List<W> writes = List.copyOf(group);
+                group.clear();
+                try {
+                    committer.accept(writes);
+                } catch(final Throwable e){
+                    writes.forEach(write -> abandon.accept(write, e));
+                }
+            }
+        }
+    }
+}
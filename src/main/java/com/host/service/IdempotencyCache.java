@@ -0,0 +1,107 @@
+package com.host.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Outcome of the creates sent with an {@code Idempotency-Key}, so that a
+ * retry is answered with the location and version of the booking the first
+ * attempt created. A key is claimed by its first request, which later requests
+ * with the same key wait on, and kept once that request created the
+ * booking. It is dropped when that request fails, so a retry runs again.
+ * <p>
+ * At most {@code booking.idempotency.max-keys} keys are kept, the oldest
+ * going first, each for {@code booking.idempotency.ttl} after its first
+ * request. Keys only live in this process.
+ */
+@ApplicationScoped
+public class IdempotencyCache {
+
+    private final int maxKeys;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final Lock lock = new ReentrantLock();
+
+    @Inject
+    public IdempotencyCache(@ConfigProperty(name = "booking.idempotency.max-keys", defaultValue = "100000") final int maxKeys,
+                            @ConfigProperty(name = "booking.idempotency.ttl", defaultValue = "24H") final Duration ttl){
+        this.maxKeys = maxKeys;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the entry an earlier request left for {@code key}, or claims
+     * the key with {@code entry} and returns null. The claiming request then
+     * has to either complete its entry or {@link #release} it.
+     */
+    public Entry putIfAbsent(final String key, final Entry entry){
+        lock.lock();
+        try {
+            evictExpired(System.nanoTime());
+            final Entry earlier = entries.putIfAbsent(key, entry);
+            if(Objects.isNull(earlier) && entries.size() > maxKeys){
+                final Iterator<Entry> oldest = entries.values().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            return earlier;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(final String key, final Entry entry, final Throwable failure){
+        lock.lock();
+        try {
+            entries.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+        entry.created.completeExceptionally(failure);
+    }
+
+    /**
+     * Entries are kept in claim order and share the same ttl, so the expired
+     * ones are at the head.
+     */
+    private void evictExpired(final long now){
+        final Iterator<Map.Entry<String, Entry>> oldest = entries.entrySet().iterator();
+        while(oldest.hasNext()){
+            final Entry entry = oldest.next().getValue();
+            if(now - entry.claimedAt < ttlNanos || !entry.created.isDone()){
+                return;
+            }
+            oldest.remove();
+        }
+    }
+
+    /**
+     * The request that claimed a key, and the booking it created once it did.
+     */
+    public static final class Entry {
+        public final Object request;
+        public final CompletableFuture<Created> created = new CompletableFuture<>();
+        private final long claimedAt = System.nanoTime();
+
+        public Entry(final Object request){
+            this.request = request;
+        }
+    }
+
+    /**
+     * Where the booking was created, and its version then.
+     */
+    public record Created(URI location, Long version) {
+    }
+}
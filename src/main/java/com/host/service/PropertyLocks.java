@@ -0,0 +1,75 @@
+package com.host.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks shared by property id hash, so that writes to the same
+ * property run one at a time while writes to other properties, short of a
+ * hash collision, run in parallel. Locks are taken in stripe order, which
+ * keeps multi-property writers from deadlocking each other.
+ * <p>
+ * The locks only cover this process; several instances writing to the same
+ * database would need a database level lock instead.
+ */
+@ApplicationScoped
+public class PropertyLocks {
+
+    private final ReentrantLock[] stripes;
+
+    @Inject
+    public PropertyLocks(@ConfigProperty(name = "booking.locks.stripes", defaultValue = "1024") final int stripeCount){
+        stripes = new ReentrantLock[stripeCount];
+        for(int i = 0; i < stripeCount; i++){
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(final Long propertyId, final Supplier<T> action){
+        final ReentrantLock lock = stripes[stripe(propertyId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withLock(final Long propertyId, final Runnable action){
+        withLock(propertyId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T withLocks(final Collection<Long> propertyIds, final Supplier<T> action){
+        final int[] locked = propertyIds.stream().mapToInt(this::stripe).distinct().sorted().toArray();
+        int acquired = 0;
+        try {
+            for(; acquired < locked.length; acquired++){
+                stripes[locked[acquired]].lock();
+            }
+            return action.get();
+        } finally {
+            for(int i = acquired - 1; i >= 0; i--){
+                stripes[locked[i]].unlock();
+            }
+        }
+    }
+
+    public void withLocks(final Collection<Long> propertyIds, final Runnable action){
+        withLocks(propertyIds, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private int stripe(final Long propertyId){
+        return Math.floorMod(Long.hashCode(propertyId) * 0x9E3779B9, stripes.length);
+    }
+}
@@ -0,0 +1,70 @@
+package com.host.service;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.exception.ResourceDoesNotExistException;
+import com.host.model.Booking;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Single booking reads answered by the {@code replica} datasource, keeping
+ * them off the primary that carries the writes. Rows are read with plain
+ * JDBC, since Panache entities can only belong to the default persistence
+ * unit, and come back as detached bookings. What the replica returns may lag
+ * behind the primary.
+ */
+@ApplicationScoped
+public class ReplicaBookingReader {
+    private static final String COLUMNS = "id, property_id, person_id, start_date, end_date, type, canceled, version";
+    private static final String BOOKING_BY_ID = "select " + COLUMNS + " from Booking where id = ?";
+    private static final String ARCHIVED_BY_ID = "select " + COLUMNS + " from booking_archive where id = ?";
+
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+
+    @SneakyThrows
+    public Booking getIncludingArchived(final Long id){
+        try(Connection connection = replica.getConnection()){
+            Booking booking = find(connection, BOOKING_BY_ID, id);
+            if(Objects.isNull(booking)){
+                booking = find(connection, ARCHIVED_BY_ID, id);
+            }
+            if(Objects.isNull(booking)){
+                throw new ResourceDoesNotExistException(id);
+            }
+            return booking;
+        }
+    }
+
+    private static Booking find(final Connection connection, final String query, final Long id) throws SQLException {
+        try(PreparedStatement statement = connection.prepareStatement(query)){
+            statement.setLong(1, id);
+            try(ResultSet row = statement.executeQuery()){
+                if(!row.next()){
+                    return null;
+                }
+                final Booking booking = new Booking();
+                booking.id = row.getLong(1);
+                booking.propertyId = row.getObject(2, Long.class);
+                booking.personId = row.getObject(3, Long.class);
+                booking.start = row.getObject(4, LocalDate.class);
+                booking.end = row.getObject(5, LocalDate.class);
+                booking.type = BookingTypeEnum.values()[row.getInt(6)];
+                booking.canceled = row.getBoolean(7);
+                booking.version = row.getObject(8, Long.class);
+                return booking;
+            }
+        }
+    }
+}
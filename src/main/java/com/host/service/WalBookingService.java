@@ -0,0 +1,254 @@
+package com.host.service;
+
+import com.host.dto.BookingSearchCriteria;
+import com.host.engine.ConflictEngine;
+import com.host.event.BookingChangedEvent;
+import com.host.exception.BookingVersionMismatchException;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.exception.ResourceDoesNotExistException;
+import com.host.index.BookingProjections;
+import com.host.metrics.BookingMetrics;
+import com.host.model.Booking;
+import com.host.model.BookingSnapshot;
+import com.host.wal.WalBookingStore;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Booking service of the {@code booking.persistence=wal} build, keeping the
+ * bookings in a {@link WalBookingStore} instead of the database. It answers
+ * like {@link BookingServiceImpl}: same checks in the same order, same
+ * exceptions, and the same {@link BookingChangedEvent}s, which observers
+ * receive right away as there is no transaction to wait for.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "booking.persistence", stringValue = "wal")
+public class WalBookingService implements BookingService {
+
+    @Inject
+    PropertyLocks propertyLocks;
+    @Inject
+    BookingMetrics bookingMetrics;
+    @Inject
+    Validator validator;
+    @Inject
+    Event<BookingChangedEvent> bookingChanged;
+    @Inject
+    BookingProjections bookingProjections;
+    @ConfigProperty(name = "booking.wal.directory", defaultValue = "data/wal")
+    String directory;
+    @ConfigProperty(name = "booking.wal.segment-size", defaultValue = "64M")
+    MemorySize segmentSize;
+    @ConfigProperty(name = "booking.wal.fsync", defaultValue = "true")
+    boolean fsync;
+    @ConfigProperty(name = "booking.wal.snapshot-every", defaultValue = "100000")
+    long snapshotEvery;
+
+    private WalBookingStore store;
+
+    @PostConstruct
+    void open(){
+        try {
+            store = new WalBookingStore(Path.of(directory), Math.toIntExact(segmentSize.asLongValue()), fsync, snapshotEvery);
+        } catch(final IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Feeds the recovered bookings to the projections, after they were loaded
+     * from the, here empty, booking table. Recovery changes nothing, so no
+     * {@link BookingChangedEvent} is fired for it.
+     */
+    void onStart(@Observes @Priority(Interceptor.Priority.APPLICATION + 1000) final StartupEvent event){
+        store.all().forEach(bookingProjections::add);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        store.close();
+    }
+
+    public void create(final Booking booking) {
+        propertyLocks.withLock(booking.propertyId, () -> {
+            verifyAlreadyBooked(booking, findOverlap(booking, null));
+            booking.id = store.nextId();
+            booking.version = 0L;
+            final BookingSnapshot current = BookingSnapshot.of(booking);
+            store.put(current);
+            bookingChanged.fire(new BookingChangedEvent(null, current));
+        });
+    }
+
+    /**
+     * Checks every booking against the store and the ones accepted before it
+     * in the chunk, then writes the accepted ones with a single sync.
+     */
+    public List<PropertyAlreadyBookedException> createAll(final List<Booking> bookings) {
+        final Set<Long> propertyIds = bookings.stream().map(booking -> booking.propertyId).collect(Collectors.toSet());
+        return propertyLocks.withLocks(propertyIds, () -> {
+            final List<PropertyAlreadyBookedException> conflicts = new ArrayList<>(bookings.size());
+            final List<BookingSnapshot> created = new ArrayList<>(bookings.size());
+            final ConflictEngine chunk = new ConflictEngine();
+            final Map<Long, Booking> chunkBookings = new HashMap<>();
+            for(Booking booking : bookings){
+                Booking alreadyBooked = findOverlap(booking, null);
+                if(Objects.isNull(alreadyBooked)){
+                    final long inChunk = chunk.firstConflict(booking.propertyId, day(booking.start), day(booking.end),
+                            ConflictEngine.NONE);
+                    alreadyBooked = chunkBookings.get(inChunk);
+                }
+                if(Objects.nonNull(alreadyBooked)){
+                    conflicts.add(new PropertyAlreadyBookedException(alreadyBooked, booking));
+                    continue;
+                }
+                booking.id = store.nextId();
+                booking.version = 0L;
+                chunk.add(booking.propertyId, booking.id, day(booking.start), day(booking.end));
+                chunkBookings.put(booking.id, booking);
+                created.add(BookingSnapshot.of(booking));
+                conflicts.add(null);
+            }
+            store.putAll(created);
+            created.forEach(current -> bookingChanged.fire(new BookingChangedEvent(null, current)));
+            return conflicts;
+        });
+    }
+
+    public void update(final Long id,
+                       final Booking booking){
+        propertyLocks.withLock(verifyVersion(stored(id), booking).propertyId(), () -> {
+            final BookingSnapshot previous = verifyVersion(stored(id), booking);
+            final Booking updatedBooking = merge(previous, booking);
+            final Set<ConstraintViolation<Booking>> violations = validator.validate(updatedBooking);
+            if(!violations.isEmpty()){
+                throw new ConstraintViolationException(violations);
+            }
+            if(!updatedBooking.canceled){
+                verifyAlreadyBooked(updatedBooking, findOverlap(updatedBooking, id));
+            }
+            final BookingSnapshot current = BookingSnapshot.of(updatedBooking);
+            store.put(current);
+            bookingChanged.fire(new BookingChangedEvent(previous, current));
+        });
+    }
+
+    /**
+     * The booking as it will look once the patch is applied, following the
+     * rules of {@link BookingServiceImpl}.
+     */
+    private static Booking merge(final BookingSnapshot stored, final Booking booking) {
+        final Booking updatedBooking = stored.toBooking();
+        if(Objects.nonNull(booking.personId)){
+            updatedBooking.personId = booking.personId;
+        }
+        if(Objects.nonNull(booking.start)){
+            updatedBooking.start = booking.start;
+        }
+        if(Objects.nonNull(booking.end)){
+            updatedBooking.end = booking.end;
+        }
+        updatedBooking.canceled = booking.canceled;
+        if(!BookingSnapshot.of(updatedBooking).equals(stored)){
+            updatedBooking.version = stored.version() + 1;
+        }
+        return updatedBooking;
+    }
+
+    private static BookingSnapshot verifyVersion(final BookingSnapshot stored, final Booking booking) {
+        if(Objects.nonNull(booking.version) && !booking.version.equals(stored.version())){
+            throw new BookingVersionMismatchException(stored.id(), stored.version());
+        }
+        return stored;
+    }
+
+    private Booking findOverlap(final Booking booking, final Long excludedId) {
+        return bookingMetrics.overlapCheck().record(() -> {
+            final long conflict = store.firstConflict(booking.propertyId, day(booking.start), day(booking.end),
+                    Objects.isNull(excludedId) ? ConflictEngine.NONE : excludedId);
+            return conflict == ConflictEngine.NONE ? null : store.get(conflict).toBooking();
+        });
+    }
+
+    private static void verifyAlreadyBooked(final Booking booking, final Booking alreadyBooked) {
+        if(Objects.nonNull(alreadyBooked)){
+            throw new PropertyAlreadyBookedException(alreadyBooked, booking);
+        }
+    }
+
+    public void remove(final Long id) {
+        propertyLocks.withLock(get(id).propertyId, () -> {
+            final BookingSnapshot previous = stored(id);
+            store.remove(id);
+            bookingChanged.fire(new BookingChangedEvent(previous, null));
+        });
+    }
+
+    public Booking get(final Long id) {
+        return stored(id).toBooking();
+    }
+
+    public Booking getIncludingArchived(final Long id) {
+        return get(id);
+    }
+
+    public void search(final BookingSearchCriteria criteria, final Consumer<Booking> consumer) {
+        final int afterStart = Objects.isNull(criteria.afterStart) ? Integer.MIN_VALUE : day(criteria.afterStart);
+        final long afterId = Objects.isNull(criteria.afterStart) ? Long.MIN_VALUE : criteria.afterId;
+        int found = 0;
+        for(BookingSnapshot booking : store.after(afterStart, afterId)){
+            if(found == criteria.limit || (Objects.nonNull(criteria.to) && !booking.start().isBefore(criteria.to))){
+                return;
+            }
+            if(matches(criteria, booking)){
+                consumer.accept(booking.toBooking());
+                found++;
+            }
+        }
+    }
+
+    private static boolean matches(final BookingSearchCriteria criteria, final BookingSnapshot booking) {
+        return (Objects.isNull(criteria.propertyId) || criteria.propertyId.equals(booking.propertyId()))
+                && (Objects.isNull(criteria.personId) || criteria.personId.equals(booking.personId()))
+                && (Objects.isNull(criteria.canceled) || criteria.canceled == booking.canceled())
+                && (Objects.isNull(criteria.from) || booking.end().isAfter(criteria.from));
+    }
+
+    private BookingSnapshot stored(final Long id) {
+        final BookingSnapshot booking = store.get(id);
+        if(Objects.isNull(booking)){
+            throw new ResourceDoesNotExistException(id);
+        }
+        return booking;
+    }
+
+    private static int day(final LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+}
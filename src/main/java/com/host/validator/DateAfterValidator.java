@@ -4,9 +4,14 @@ import com.host.model.Booking;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+import java.util.Objects;
+
 public class DateAfterValidator implements ConstraintValidator<DateAfter, Booking> {
     @Override
     public boolean isValid(final Booking booking, final ConstraintValidatorContext context) {
+        if(Objects.isNull(booking.start) || Objects.isNull(booking.end)){
+            return true;
+        }
         return booking.end.isAfter(booking.start);
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.host.wal;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.model.BookingSnapshot;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Binary form of the log records and of the bookings in a snapshot. Dates
+ * are written as epoch days.
+ */
+final class BookingCodec {
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+    static final int BOOKING_BYTES = 4 * Long.BYTES + 2 * Integer.BYTES + 2;
+    static final int MAX_RECORD_BYTES = 1 + BOOKING_BYTES;
+    private static final BookingTypeEnum[] TYPES = BookingTypeEnum.values();
+
+    private BookingCodec(){
+    }
+
+    static void writePut(final ByteBuffer target, final BookingSnapshot booking){
+        target.put(PUT);
+        writeBooking(target, booking);
+    }
+
+    static void writeRemove(final ByteBuffer target, final long id){
+        target.put(REMOVE).putLong(id);
+    }
+
+    static void writeBooking(final ByteBuffer target, final BookingSnapshot booking){
+        target.putLong(booking.id())
+                .putLong(booking.propertyId())
+                .putLong(booking.personId())
+                .putInt(Math.toIntExact(booking.start().toEpochDay()))
+                .putInt(Math.toIntExact(booking.end().toEpochDay()))
+                .put((byte) booking.type().ordinal())
+                .put((byte) (booking.canceled() ? 1 : 0))
+                .putLong(booking.version());
+    }
+
+    static BookingSnapshot readBooking(final ByteBuffer source){
+        return new BookingSnapshot(source.getLong(), source.getLong(), source.getLong(),
+                LocalDate.ofEpochDay(source.getInt()), LocalDate.ofEpochDay(source.getInt()),
+                TYPES[source.get()], source.get() == 1, source.getLong());
+    }
+}
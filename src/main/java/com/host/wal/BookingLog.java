@@ -0,0 +1,154 @@
+package com.host.wal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log split in numbered {@link LogSegment}s. Appends only write
+ * to memory; {@link #sync} makes them durable, and a caller finding a sync
+ * in progress waits for it and, if it covered its record, returns without
+ * forcing again. That groups the fsyncs of concurrent writers.
+ */
+final class BookingLog implements Closeable {
+    private static final String SUFFIX = ".wal";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private LogSegment current;
+    private long appended;
+    private volatile long durable;
+
+    private BookingLog(final Path directory, final int segmentBytes, final boolean fsync){
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Replays the segments numbered {@code fromSegment} and above, in order,
+     * and opens the log for appends after the last intact record.
+     */
+    static BookingLog open(final Path directory, final int segmentBytes, final boolean fsync,
+                           final long fromSegment, final Consumer<ByteBuffer> records) throws IOException {
+        final BookingLog log = new BookingLog(directory, segmentBytes, fsync);
+        final List<Long> numbers = segmentNumbers(directory).filter(number -> number >= fromSegment).sorted().toList();
+        for(Long number : numbers){
+            if(log.current != null){
+                log.current.close();
+            }
+            log.current = LogSegment.open(log.segmentFile(number), number, segmentBytes);
+            log.current.recover(records);
+        }
+        if(log.current == null){
+            log.current = LogSegment.open(log.segmentFile(fromSegment), fromSegment, segmentBytes);
+        }
+        return log;
+    }
+
+    /**
+     * Returns the sequence of the record, to be passed to {@link #sync}.
+     */
+    long append(final ByteBuffer payload){
+        appendLock.lock();
+        try {
+            if(!current.hasRoomFor(payload.remaining())){
+                rollLocked();
+            }
+            current.append(payload);
+            return ++appended;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    void sync(final long sequence){
+        if(!fsync || durable >= sequence){
+            return;
+        }
+        syncLock.lock();
+        try {
+            if(durable >= sequence){
+                return;
+            }
+            final LogSegment segment;
+            final long covered;
+            appendLock.lock();
+            try {
+                segment = current;
+                covered = appended;
+            } finally {
+                appendLock.unlock();
+            }
+            segment.force();
+            durable = covered;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new segment and returns its number; every record appended
+     * before the call is in a lower numbered segment.
+     */
+    long roll(){
+        appendLock.lock();
+        try {
+            rollLocked();
+            return current.number;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    void deleteSegmentsBefore(final long number) throws IOException {
+        for(Long old : segmentNumbers(directory).filter(segment -> segment < number).toList()){
+            Files.deleteIfExists(segmentFile(old));
+        }
+    }
+
+    private void rollLocked(){
+        try {
+            current.force();
+            current.close();
+            current = LogSegment.open(segmentFile(current.number + 1), current.number + 1, segmentBytes);
+        } catch(final IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentFile(final long number){
+        return directory.resolve(String.format("%020d%s", number, SUFFIX));
+    }
+
+    private static Stream<Long> segmentNumbers(final Path directory) throws IOException {
+        try(Stream<Path> files = Files.list(directory)){
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .toList()
+                    .stream();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            current.force();
+            current.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.host.wal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped file of the log, preallocated to its full size. Each
+ * record is its payload length, the CRC32 of the payload and the payload; a
+ * zero length marks the end of the written part.
+ */
+final class LogSegment implements Closeable {
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final byte[] ZEROS = new byte[64 * 1024];
+
+    final long number;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32 checksum = new CRC32();
+    private int position;
+
+    private LogSegment(final long number, final FileChannel channel, final MappedByteBuffer buffer){
+        this.number = number;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static LogSegment open(final Path file, final long number, final int size) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new LogSegment(number, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    /**
+     * Hands every intact record to {@code records} and positions the segment
+     * after the last one. Whatever follows, a record torn by a crash included,
+     * is zeroed so it cannot be mistaken for a record later.
+     */
+    void recover(final Consumer<ByteBuffer> records){
+        int offset = 0;
+        while(offset + HEADER_BYTES <= buffer.capacity()){
+            final int length = buffer.getInt(offset);
+            if(length <= 0 || length > buffer.capacity() - offset - HEADER_BYTES){
+                break;
+            }
+            final ByteBuffer payload = buffer.slice(offset + HEADER_BYTES, length);
+            checksum.reset();
+            checksum.update(payload.duplicate());
+            if((int) checksum.getValue() != buffer.getInt(offset + Integer.BYTES)){
+                break;
+            }
+            records.accept(payload);
+            offset += HEADER_BYTES + length;
+        }
+        position = offset;
+        for(int zeroed = offset; zeroed < buffer.capacity(); zeroed += ZEROS.length){
+            buffer.put(zeroed, ZEROS, 0, Math.min(ZEROS.length, buffer.capacity() - zeroed));
+        }
+        buffer.force();
+    }
+
+    boolean hasRoomFor(final int payloadBytes){
+        return position + HEADER_BYTES + payloadBytes <= buffer.capacity();
+    }
+
+    /**
+     * Copies the remaining bytes of {@code payload}; the length goes in last.
+     */
+    void append(final ByteBuffer payload){
+        final int length = payload.remaining();
+        checksum.reset();
+        checksum.update(payload.duplicate());
+        buffer.put(position + HEADER_BYTES, payload, payload.position(), length);
+        buffer.putInt(position + Integer.BYTES, (int) checksum.getValue());
+        buffer.putInt(position, length);
+        position += HEADER_BYTES + length;
+    }
+
+    void force(){
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
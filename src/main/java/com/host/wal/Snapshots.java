@@ -0,0 +1,107 @@
+package com.host.wal;
+
+import com.host.model.BookingSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Compact copies of every booking, named after the first log segment they do
+ * not cover. A snapshot is written to a temporary file and renamed, so a
+ * crash while writing leaves the previous one in place.
+ */
+final class Snapshots {
+    private static final String SUFFIX = ".snapshot";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int WRITE_CHUNK_BYTES = 1024 * 1024;
+
+    record Loaded(long segment, long nextId, List<BookingSnapshot> bookings) {
+    }
+
+    private Snapshots(){
+    }
+
+    static void write(final Path directory, final long segment, final long nextId,
+                      final Collection<BookingSnapshot> bookings) throws IOException {
+        final Path temporary = directory.resolve(name(segment) + TEMPORARY_SUFFIX);
+        final CRC32 checksum = new CRC32();
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)){
+            final ByteBuffer chunk = ByteBuffer.allocate(WRITE_CHUNK_BYTES);
+            chunk.putLong(nextId).putInt(bookings.size());
+            for(BookingSnapshot booking : bookings){
+                if(chunk.remaining() < BookingCodec.BOOKING_BYTES){
+                    writeChunk(channel, chunk, checksum);
+                }
+                BookingCodec.writeBooking(chunk, booking);
+            }
+            writeChunk(channel, chunk, checksum);
+            chunk.putInt((int) checksum.getValue()).flip();
+            channel.write(chunk);
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(name(segment)), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Optional<Loaded> loadLatest(final Path directory) throws IOException {
+        final Optional<Long> latest;
+        try(Stream<Path> files = Files.list(directory)){
+            latest = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .max(Comparator.naturalOrder());
+        }
+        if(latest.isEmpty()){
+            return Optional.empty();
+        }
+        final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(name(latest.get()))));
+        final CRC32 checksum = new CRC32();
+        checksum.update(content.duplicate().limit(content.capacity() - Integer.BYTES));
+        if((int) checksum.getValue() != content.getInt(content.capacity() - Integer.BYTES)){
+            throw new IOException("Damaged snapshot " + name(latest.get()));
+        }
+        final long nextId = content.getLong();
+        final int count = content.getInt();
+        final List<BookingSnapshot> bookings = new ArrayList<>(count);
+        for(int i = 0; i < count; i++){
+            bookings.add(BookingCodec.readBooking(content));
+        }
+        return Optional.of(new Loaded(latest.get(), nextId, bookings));
+    }
+
+    static void deleteBefore(final Path directory, final long segment) throws IOException {
+        try(Stream<Path> files = Files.list(directory)){
+            for(Path file : files.toList()){
+                final String name = file.getFileName().toString();
+                if(name.endsWith(SUFFIX) && Long.parseLong(name.substring(0, name.length() - SUFFIX.length())) < segment){
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void writeChunk(final FileChannel channel, final ByteBuffer chunk, final CRC32 checksum) throws IOException {
+        chunk.flip();
+        checksum.update(chunk.duplicate());
+        while(chunk.hasRemaining()){
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+
+    private static String name(final long segment){
+        return String.format("%020d%s", segment, SUFFIX);
+    }
+}
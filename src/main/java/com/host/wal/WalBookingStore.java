@@ -0,0 +1,235 @@
+package com.host.wal;
+
+import com.host.engine.ConflictEngine;
+import com.host.model.BookingSnapshot;
+import org.jboss.logging.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bookings held in memory and persisted as a {@link BookingLog} of their
+ * changes plus periodic {@link Snapshots}. Opening the store loads the latest
+ * snapshot and replays the log written after it.
+ * <p>
+ * The store does not check overlaps by itself; callers check with
+ * {@link #firstConflict} and write while holding the lock of the property.
+ * A write is only seen by readers once it is durable.
+ */
+public class WalBookingStore implements Closeable {
+    private static final Logger LOG = Logger.getLogger(WalBookingStore.class);
+
+    private final Path directory;
+    private final long snapshotEvery;
+    private final BookingLog log;
+    private final Map<Long, BookingSnapshot> bookings = new ConcurrentHashMap<>();
+    private final NavigableMap<StartKey, BookingSnapshot> byStart = new ConcurrentSkipListMap<>();
+    private final ConflictEngine engine = new ConflictEngine();
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong sinceSnapshot = new AtomicLong();
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor();
+    private final ThreadLocal<ByteBuffer> records =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(BookingCodec.MAX_RECORD_BYTES));
+
+    public WalBookingStore(final Path directory, final int segmentBytes, final boolean fsync,
+                           final long snapshotEvery) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.snapshotEvery = snapshotEvery;
+        final Snapshots.Loaded snapshot = Snapshots.loadLatest(directory).orElse(null);
+        long firstSegment = 1;
+        if(Objects.nonNull(snapshot)){
+            snapshot.bookings().forEach(this::apply);
+            lastId.accumulateAndGet(snapshot.nextId() - 1, Math::max);
+            firstSegment = snapshot.segment();
+        }
+        this.log = BookingLog.open(directory, segmentBytes, fsync, firstSegment, this::replay);
+    }
+
+    public long nextId(){
+        return lastId.incrementAndGet();
+    }
+
+    public BookingSnapshot get(final long id){
+        return bookings.get(id);
+    }
+
+    public Collection<BookingSnapshot> all(){
+        return bookings.values();
+    }
+
+    /**
+     * Bookings ordered by start day and id, from the first one after
+     * {@code (start, id)}.
+     */
+    public Collection<BookingSnapshot> after(final int start, final long id){
+        return byStart.tailMap(new StartKey(start, id), false).values();
+    }
+
+    /**
+     * Id of the non-canceled booking of the property overlapping the epoch
+     * days {@code [start, end)}, or {@link ConflictEngine#NONE}.
+     */
+    public long firstConflict(final long propertyId, final int start, final int end, final long excludedId){
+        return engine.firstConflict(propertyId, start, end, excludedId);
+    }
+
+    /**
+     * Writes the booking, replacing the one with the same id, and returns once
+     * the change is durable.
+     */
+    public void put(final BookingSnapshot booking){
+        putAll(List.of(booking));
+    }
+
+    /**
+     * Writes the bookings with a single sync, and applies them once it
+     * returns. The snapshot lock is held until then, so a snapshot never
+     * drops a segment holding writes it has not copied.
+     */
+    public void putAll(final Collection<BookingSnapshot> changed){
+        snapshotLock.readLock().lock();
+        try {
+            long sequence = 0;
+            for(BookingSnapshot booking : changed){
+                final ByteBuffer record = records.get().clear();
+                BookingCodec.writePut(record, booking);
+                sequence = log.append(record.flip());
+            }
+            log.sync(sequence);
+            changed.forEach(this::apply);
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        afterWrite(changed.size());
+    }
+
+    public void remove(final long id){
+        snapshotLock.readLock().lock();
+        try {
+            final ByteBuffer record = records.get().clear();
+            BookingCodec.writeRemove(record, id);
+            log.sync(log.append(record.flip()));
+            unapply(id);
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        afterWrite(1);
+    }
+
+    /**
+     * Writes every booking to a new snapshot and drops the log segments and
+     * snapshots it replaces. Writes are held only while the log moves to a
+     * new segment and the bookings are copied. When the snapshot cannot be
+     * written, nothing is dropped and the log keeps covering every write.
+     */
+    public void snapshot() throws IOException {
+        final long segment;
+        final List<BookingSnapshot> copy;
+        final long nextId;
+        snapshotLock.writeLock().lock();
+        try {
+            segment = log.roll();
+            copy = new ArrayList<>(bookings.values());
+            nextId = lastId.get() + 1;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+        Snapshots.write(directory, segment, nextId, copy);
+        log.deleteSegmentsBefore(segment);
+        Snapshots.deleteBefore(directory, segment);
+    }
+
+    private void afterWrite(final int written){
+        final long since = sinceSnapshot.addAndGet(written);
+        if(since >= snapshotEvery && sinceSnapshot.compareAndSet(since, 0)){
+            snapshotter.execute(() -> {
+                try {
+                    snapshot();
+                } catch(final IOException | RuntimeException e){
+                    LOG.errorf(e, "Could not snapshot %s, keeping its log segments", directory);
+                }
+            });
+        }
+    }
+
+    private void replay(final ByteBuffer record){
+        switch(record.get()){
+            case BookingCodec.PUT -> apply(BookingCodec.readBooking(record));
+            case BookingCodec.REMOVE -> unapply(record.getLong());
+            default -> throw new IllegalStateException("Unknown log record");
+        }
+    }
+
+    private void apply(final BookingSnapshot booking){
+        final BookingSnapshot previous = bookings.put(booking.id(), booking);
+        if(Objects.nonNull(previous)){
+            unindex(previous);
+        }
+        byStart.put(StartKey.of(booking), booking);
+        if(!booking.canceled()){
+            engine.add(booking.propertyId(), booking.id(), day(booking.start()), day(booking.end()));
+        }
+        lastId.accumulateAndGet(booking.id(), Math::max);
+    }
+
+    private void unapply(final long id){
+        final BookingSnapshot previous = bookings.remove(id);
+        if(Objects.nonNull(previous)){
+            unindex(previous);
+        }
+    }
+
+    private void unindex(final BookingSnapshot booking){
+        byStart.remove(StartKey.of(booking));
+        if(!booking.canceled()){
+            engine.remove(booking.propertyId(), booking.id(), day(booking.start()));
+        }
+    }
+
+    private static int day(final LocalDate date){
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch(final InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+
+    private record StartKey(int start, long id) implements Comparable<StartKey> {
+
+        static StartKey of(final BookingSnapshot booking){
+            return new StartKey(day(booking.start()), booking.id());
+        }
+
+        @Override
+        public int compareTo(final StartKey other){
+            final int byStart = Integer.compare(start, other.start);
+            return byStart != 0 ? byStart : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.host;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.host.constants.AuditFindingTypeEnum;
+import com.host.constants.BookingTypeEnum;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.index.BookingProjections;
+import com.host.model.Booking;
+import com.host.model.BookingArchive;
+import com.host.utils.PayloadUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+
+@QuarkusTest
+public class AdminResourceTest {
+    public static final String ARCHIVE_URL = AdminResource.ROOT_PATH + AdminResource.ARCHIVE_PATH;
+    public static final String AUDIT_URL = AdminResource.ROOT_PATH + AdminResource.AUDIT_PATH;
+
+    @Inject
+    PayloadUtils payloadUtils;
+    @Inject
+    ObjectMapper objectMapper;
+    @Inject
+    BookingProjections bookingProjections;
+
+    @BeforeEach
+    @AfterEach
+    @Transactional
+    public void setup(){
+        Booking.deleteAll();
+        BookingArchive.deleteAll();
+        bookingProjections.reload();
+    }
+
+    @Test
+    public void givenPastStay_whenCallArchive_thenMovedOutOfHotTableAndStillGuarded(){
+        var payloads = payloadUtils.getPayload("/bookings/archive_bookings.json");
+        var pastLocation = executePost(payloads.get("past_stay"), HttpStatus.SC_CREATED);
+        var laterLocation = executePost(payloads.get("later_stay"), HttpStatus.SC_CREATED);
+
+        var archive = given()
+                .queryParam(AdminResource.BEFORE, "2024-02-01")
+            .when()
+                .post(ARCHIVE_URL)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+        Assertions.assertEquals(1, archive.get("archived").intValue());
+        Assertions.assertEquals(1, Booking.count());
+        Assertions.assertEquals(1, BookingArchive.count());
+
+        var archived = when()
+                .get(pastLocation)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+        Assertions.assertEquals(payloads.get("past_stay").get(Booking.START), archived.get(Booking.START));
+        when().get(laterLocation).then().statusCode(HttpStatus.SC_OK);
+        when().delete(pastLocation).then().statusCode(HttpStatus.SC_BAD_REQUEST);
+
+        var overlap = given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payloads.get("overlapping_past_stay").toString())
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST).extract().body().as(JsonNode.class);
+        Assertions.assertEquals(PropertyAlreadyBookedException.ERROR_MESSAGE,
+                overlap.get(BookingResourceTest.MESSAGE_RESPONSE_PROPERTY).textValue());
+    }
+
+    @Test
+    public void givenMissingOrFutureBefore_whenCallArchive_thenBadRequest(){
+        when().post(ARCHIVE_URL).then().statusCode(HttpStatus.SC_BAD_REQUEST);
+        given()
+            .queryParam(AdminResource.BEFORE, "2999-01-01")
+        .when()
+            .post(ARCHIVE_URL)
+        .then()
+            .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void givenRowsWrittenAroundTheService_whenCallAudit_thenConflictsAndInvalidDatesAreReported() throws Exception {
+        QuarkusTransaction.requiringNew().run(AdminResourceTest::insertRows);
+
+        var lines = given()
+            .when()
+                .post(AUDIT_URL)
+            .then()
+                .statusCode(HttpStatus.SC_OK)
+                .contentType(AdminResource.APPLICATION_NDJSON)
+                .extract().body().asString().split("\n");
+        final List<String> findings = new ArrayList<>();
+        for(int i = 0; i < lines.length - 1; i++){
+            var finding = objectMapper.readTree(lines[i]);
+            findings.add(finding.get("type").textValue() + "/" + finding.get("booking").get(Booking.START).textValue()
+                    + (finding.has("conflicting") ? "/" + finding.get("conflicting").get(Booking.START).textValue() : ""));
+        }
+        findings.sort(null);
+        Assertions.assertEquals(List.of(
+                "CONFLICT/2024-01-12/2024-01-10",
+                "CONFLICT/2024-01-18/2024-01-12",
+                "INVALID_DATES/2024-01-05"), findings);
+
+        var summary = objectMapper.readTree(lines[lines.length - 1]);
+        Assertions.assertEquals(AuditFindingTypeEnum.SUMMARY.name(), summary.get("type").textValue());
+        Assertions.assertEquals(6, summary.get("bookings").intValue());
+        Assertions.assertEquals(2, summary.get("properties").intValue());
+        Assertions.assertEquals(2, summary.get("conflicts").intValue());
+        Assertions.assertEquals(1, summary.get("invalid_dates").intValue());
+    }
+
+    private static void insertRows(){
+        insertRow(8001L, "2024-01-10", "2024-01-15", false);
+        insertRow(8001L, "2024-01-12", "2024-01-20", false);
+        insertRow(8001L, "2024-01-18", "2024-01-19", false);
+        insertRow(8001L, "2024-01-20", "2024-01-25", false);
+        insertRow(8002L, "2024-01-05", "2024-01-03", false);
+        insertRow(8002L, "2024-01-01", "2024-01-04", false);
+        insertRow(8003L, "2024-01-01", "2024-01-10", true);
+        insertRow(8003L, "2024-01-02", "2024-01-08", true);
+    }
+
+    private static void insertRow(final Long propertyId, final String start, final String end, final boolean canceled){
+        final Booking booking = new Booking();
+        booking.propertyId = propertyId;
+        booking.personId = 456L;
+        booking.start = LocalDate.parse(start);
+        booking.end = LocalDate.parse(end);
+        booking.type = BookingTypeEnum.BOOKING;
+        booking.canceled = canceled;
+        booking.persist();
+    }
+
+    private static String executePost(final JsonNode payload, final int expectedStatus) {
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payload.toString())
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(expectedStatus).extract().header(BookingResourceTest.LOCATION_HEADER);
+    }
+}
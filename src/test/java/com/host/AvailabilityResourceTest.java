@@ -0,0 +1,101 @@
+package com.host;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.host.dto.AvailabilitySearchCriteria;
+import com.host.index.BookingProjections;
+import com.host.model.Booking;
+import com.host.utils.PayloadUtils;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+public class AvailabilityResourceTest {
+    public static final String SEARCH_URL = AvailabilityResource.ROOT_PATH + AvailabilityResource.SEARCH_PATH;
+
+    @Inject
+    PayloadUtils payloadUtils;
+    @Inject
+    BookingProjections bookingProjections;
+
+    @BeforeEach
+    @Transactional
+    public void setup(){
+        Booking.deleteAll();
+        bookingProjections.reload();
+    }
+
+    @Test
+    public void givenBookingsAndBlock_whenSearch_thenFreePropertiesFollowWrites(){
+        var payloads = payloadUtils.getPayload("/bookings/availability_search_bookings.json");
+        var bookedLocation = executePost(payloads.get("booked"));
+        executePost(payloads.get("blocked"));
+        executePost(payloads.get("booked_before"));
+
+        Assertions.assertEquals(List.of(912L, 913L), search("2024-01-16", "2024-01-18", null));
+        Assertions.assertEquals(List.of(913L), search("2024-01-16", "2024-01-19", null));
+        Assertions.assertEquals(List.of(913L, 914L), search("2024-01-16", "2024-01-19", List.of(914L, 911L, 913L)));
+
+        given()
+            .contentType(ContentType.APPLICATION_JSON.getMimeType())
+            .body(payloads.get("cancel").toString())
+        .when()
+            .patch(bookedLocation)
+        .then()
+            .statusCode(HttpStatus.SC_NO_CONTENT);
+        Assertions.assertEquals(List.of(911L, 913L), search("2024-01-16", "2024-01-19", null));
+    }
+
+    @Test
+    public void givenFromAfterTo_whenSearch_thenBadRequest(){
+        given()
+            .contentType(ContentType.APPLICATION_JSON.getMimeType())
+            .body(Map.of(PropertyResource.FROM, "2024-01-30", PropertyResource.TO, "2024-01-10"))
+        .when()
+            .post(SEARCH_URL)
+        .then()
+            .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    private static String executePost(final JsonNode payload){
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payload.toString())
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_CREATED).extract().header(BookingResourceTest.LOCATION_HEADER);
+    }
+
+    private static List<Long> search(final String from, final String to, final List<Long> propertyIds){
+        final Map<String, Object> criteria = new HashMap<>(Map.of(PropertyResource.FROM, from, PropertyResource.TO, to));
+        if(Objects.nonNull(propertyIds)){
+            criteria.put(AvailabilitySearchCriteria.PROPERTY_IDS, propertyIds);
+        }
+        var body =
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(criteria)
+            .when()
+                .post(SEARCH_URL)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+        final List<Long> free = new ArrayList<>();
+        body.get(AvailabilitySearchCriteria.PROPERTY_IDS).forEach(id -> free.add(id.longValue()));
+        return free;
+    }
+}
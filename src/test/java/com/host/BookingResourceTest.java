@@ -1,10 +1,13 @@
 package com.host;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.host.constants.BookingTypeEnum;
 import com.host.exception.OverlapMessageWrapper;
 import com.host.exception.PropertyAlreadyBookedException;
+import com.host.index.BookingProjections;
 import com.host.model.Booking;
 import com.host.utils.PayloadUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.Method;
 import io.restassured.response.ValidatableResponse;
@@ -17,13 +20,18 @@ import lombok.ToString;
 import org.apache.http.HttpStatus;
 import org.apache.http.entity.ContentType;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
@@ -37,9 +45,14 @@ public class BookingResourceTest {
     public static final String CANCELED_PAYLOAD_PROPERTY = "canceled";
     public static final String INITIAL_URL_LOCALHOST = "http://localhost:";
     public static final String MESSAGE_RESPONSE_PROPERTY = "message";
+    public static final String ETAG_HEADER = "ETag";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    public static final String IF_MATCH_HEADER = "If-Match";
 
     @Inject
     PayloadUtils payloadUtils;
+    @Inject
+    BookingProjections bookingProjections;
     @ConfigProperty(name= "quarkus.http.test-port")
     int port;
 
@@ -47,6 +60,7 @@ public class BookingResourceTest {
     @Transactional
     public void setup(){
         Booking.deleteAll();
+        bookingProjections.reload();
     }
 
     @SneakyThrows
@@ -144,6 +158,7 @@ public class BookingResourceTest {
         verifyOverlap(payloads.get("range_inside"), initialBook);
         verifyOverlap(payloads.get("start_date_inside"), initialBook);
         verifyOverlap(payloads.get("over_start_and_end"), initialBook);
+        verifyOverlap(payloads.get("same_range"), initialBook);
     }
 
     @Test
@@ -187,6 +202,263 @@ public class BookingResourceTest {
         executePatch(HttpStatus.SC_NO_CONTENT, rangeInside, location);
     }
 
+    @Test
+    public void givenBookingRemovedOutsideService_whenCallPost_thenSucceed(){
+        var payload = payloadUtils.getPayload("/bookings/valid_booking.json").toString();
+        executePost(payload, HttpStatus.SC_CREATED);
+        deleteAllOutsideService();
+        executePost(payload, HttpStatus.SC_CREATED);
+    }
+
+    @Transactional
+    void deleteAllOutsideService(){
+        Booking.deleteAll();
+    }
+
+    @Test
+    public void givenOverlappingRowsWrittenOutsideService_whenCallPostInsideTheLongerOne_thenBadRequest(){
+        QuarkusTransaction.requiringNew().run(() -> {
+            persistOutsideService(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10));
+            persistOutsideService(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3));
+        });
+        bookingProjections.reload();
+
+        executePost("{\"property_id\": 555, \"person_id\": 456, \"start\": \"2024-01-05\", \"end\": \"2024-01-06\","
+                + " \"type\": \"BOOKING\"}", HttpStatus.SC_BAD_REQUEST);
+    }
+
+    private static void persistOutsideService(final LocalDate start, final LocalDate end){
+        final Booking booking = new Booking();
+        booking.propertyId = 555L;
+        booking.personId = 456L;
+        booking.start = start;
+        booking.end = end;
+        booking.type = BookingTypeEnum.BOOKING;
+        booking.persist();
+    }
+
+    @Test
+    public void givenIdempotencyKey_whenCallPostAgain_thenSameLocationAndSingleBooking(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_create_overlap_validation.json");
+        var initialBook = payloads.get("initial_booking").toString();
+        var key = UUID.randomUUID().toString();
+
+        var created = executeIdempotentPost(key, initialBook, HttpStatus.SC_CREATED)
+            .header(BookingResource.IDEMPOTENT_REPLAYED, (String) null)
+            .extract();
+        var location = created.header(LOCATION_HEADER);
+        var retry = executeIdempotentPost(key, initialBook, HttpStatus.SC_CREATED)
+            .header(BookingResource.IDEMPOTENT_REPLAYED, "true")
+            .extract();
+        Assertions.assertEquals(location, retry.header(LOCATION_HEADER));
+        Assertions.assertNotNull(created.header(ETAG_HEADER));
+        Assertions.assertEquals(created.header(ETAG_HEADER), retry.header(ETAG_HEADER));
+        Assertions.assertEquals(1, Booking.count());
+
+        var reused = executeIdempotentPost(key, payloads.get("same_range").toString(), BookingResource.UNPROCESSABLE_CONTENT)
+            .extract().body().as(JsonNode.class);
+        Assertions.assertEquals(BookingResource.IDEMPOTENCY_KEY_REUSED, reused.get(MESSAGE_RESPONSE_PROPERTY).textValue());
+        verifyOverlap(payloads.get("same_range"), payloads.get("initial_booking"));
+    }
+
+    @Test
+    public void givenIdempotencyKey_whenCallPostConcurrently_thenOneBookingIsCreated(){
+        var payload = payloadUtils.getPayload("/bookings/valid_booking.json").toString();
+        var key = UUID.randomUUID().toString();
+
+        var retries = IntStream.range(0, 8)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                executeIdempotentPost(key, payload, HttpStatus.SC_CREATED).extract().header(LOCATION_HEADER)))
+            .toList();
+        var locations = retries.stream().map(CompletableFuture::join).collect(Collectors.toSet());
+        Assertions.assertEquals(1, locations.size());
+        Assertions.assertEquals(1, Booking.count());
+    }
+
+    @Test
+    public void givenIdempotencyKeyOfRejectedPost_whenCallPostAgain_thenRunAgain(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_create_overlap_validation.json");
+        var key = UUID.randomUUID().toString();
+        var location = executePost(payloads.get("initial_booking").toString(), HttpStatus.SC_CREATED)
+            .extract().header(LOCATION_HEADER);
+
+        executeIdempotentPost(key, payloads.get("same_range").toString(), HttpStatus.SC_BAD_REQUEST);
+        when().delete(location).then().statusCode(HttpStatus.SC_NO_CONTENT);
+        executeIdempotentPost(key, payloads.get("same_range").toString(), HttpStatus.SC_CREATED)
+            .header(BookingResource.IDEMPOTENT_REPLAYED, (String) null);
+    }
+
+    @Test
+    public void givenEntityTag_whenCallGetWithIfNoneMatch_thenNotModifiedUntilChanged(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_create_overlap_validation.json");
+        var created = executePost(payloads.get("initial_booking").toString(), HttpStatus.SC_CREATED);
+        var location = created.extract().header(LOCATION_HEADER);
+        var tag = when().get(location).then().statusCode(HttpStatus.SC_OK).extract().header(ETAG_HEADER);
+        Assertions.assertEquals(created.extract().header(ETAG_HEADER), tag);
+
+        given()
+            .header(IF_NONE_MATCH_HEADER, tag)
+        .when()
+            .get(location)
+        .then()
+            .statusCode(HttpStatus.SC_NOT_MODIFIED)
+            .header(ETAG_HEADER, tag)
+            .body(Matchers.emptyString());
+
+        executePatch(HttpStatus.SC_NO_CONTENT, payloads.get("range_inside"), location);
+        var changedTag = given()
+            .header(IF_NONE_MATCH_HEADER, tag)
+        .when()
+            .get(location)
+        .then()
+            .statusCode(HttpStatus.SC_OK).extract().header(ETAG_HEADER);
+        Assertions.assertNotEquals(tag, changedTag);
+    }
+
+    @Test
+    public void givenStaleEntityTag_whenCallPatchWithIfMatch_thenPreconditionFailed(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_create_overlap_validation.json");
+        var created = executePost(payloads.get("initial_booking").toString(), HttpStatus.SC_CREATED);
+        var location = created.extract().header(LOCATION_HEADER);
+        var tag = created.extract().header(ETAG_HEADER);
+
+        executeConditionalPatch(tag, payloads.get("range_inside"), location, HttpStatus.SC_NO_CONTENT);
+        var currentTag = executeConditionalPatch(tag, payloads.get("end_date_inside"), location, HttpStatus.SC_PRECONDITION_FAILED)
+            .extract().header(ETAG_HEADER);
+        Assertions.assertEquals(when().get(location).then().extract().header(ETAG_HEADER), currentTag);
+        Assertions.assertEquals(payloads.get("range_inside").get("start").textValue(), getBooking(location).start.toString());
+
+        executeConditionalPatch("W/" + currentTag, payloads.get("end_date_inside"), location, HttpStatus.SC_PRECONDITION_FAILED);
+        executeConditionalPatch("not-a-tag", payloads.get("end_date_inside"), location, HttpStatus.SC_PRECONDITION_FAILED);
+        executeConditionalPatch(currentTag, payloads.get("end_date_inside"), location, HttpStatus.SC_NO_CONTENT);
+        executeConditionalPatch("*", payloads.get("same_range"), location, HttpStatus.SC_NO_CONTENT);
+    }
+
+    @Test
+    public void givenBatch_whenCallPostBatch_thenReportEachBooking(){
+        var payloads = payloadUtils.getPayload("/bookings/batch_create.json");
+        executePost(payloads.get("existing_booking").toString(), HttpStatus.SC_CREATED);
+
+        var results =
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payloads.get("batch").toString())
+            .when()
+                .post(BookingResource.ROOT_PATH + BookingResource.BATCH_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+
+        Assertions.assertAll(
+            ()->Assertions.assertEquals(HttpStatus.SC_CREATED, results.get(0).get("status").intValue()),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(1).get("status").intValue()),
+            ()->Assertions.assertEquals(payloads.get("batch").get(0).get("start"),
+                    results.get(1).get("error").get(OverlapMessageWrapper.START_BOOKED)),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(2).get("status").intValue()),
+            ()->Assertions.assertEquals(payloads.get("existing_booking").get("start"),
+                    results.get(2).get("error").get(OverlapMessageWrapper.START_BOOKED)),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(3).get("status").intValue()),
+            ()->Assertions.assertNotNull(results.get(3).get("error").get("parameterViolations")),
+            ()->Assertions.assertEquals(HttpStatus.SC_CREATED, results.get(4).get("status").intValue()),
+            ()->Assertions.assertEquals(127L, getBooking(results.get(4).get("location").textValue()).personId)
+        );
+    }
+
+    @Test
+    public void givenBatchWithMalformedElements_whenCallPostBatch_thenEachIsReportedOrBadRequest(){
+        var payloads = payloadUtils.getPayload("/bookings/batch_create.json");
+        var first = payloads.get("batch").get(0).toString();
+        var last = payloads.get("batch").get(4).toString();
+
+        var results = executePostBatch("[" + first + ", 5, [1, 2], " + last + "]", HttpStatus.SC_OK)
+            .extract().body().as(JsonNode.class);
+        executePostBatch("[" + first + "] " + last, HttpStatus.SC_BAD_REQUEST)
+            .body(MESSAGE_RESPONSE_PROPERTY, Matchers.equalTo(BookingResource.BATCH_TRAILING_CONTENT));
+        executePostBatch("[" + first, HttpStatus.SC_BAD_REQUEST);
+
+        Assertions.assertAll(
+            ()->Assertions.assertEquals(4, results.size()),
+            ()->Assertions.assertEquals(HttpStatus.SC_CREATED, results.get(0).get("status").intValue()),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(1).get("status").intValue()),
+            ()->Assertions.assertEquals(BookingResource.BATCH_OBJECT_EXPECTED,
+                    results.get(1).get("error").get(MESSAGE_RESPONSE_PROPERTY).textValue()),
+            ()->Assertions.assertEquals(2, results.get(2).get("index").intValue()),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(2).get("status").intValue()),
+            ()->Assertions.assertEquals(HttpStatus.SC_CREATED, results.get(3).get("status").intValue())
+        );
+    }
+
+    @Test
+    public void givenBookings_whenCallSearch_thenPageByStartDate(){
+        payloadUtils.getPayload("/bookings/search_bookings.json")
+            .forEach(p->executePost(p.toString(), HttpStatus.SC_CREATED));
+
+        var firstPage = executeSearch(Map.of(Booking.PROPERTY_ID, 777, BookingResource.LIMIT, 2));
+        var secondPage = executeSearch(Map.of(Booking.PROPERTY_ID, 777, BookingResource.LIMIT, 2,
+                BookingResource.CURSOR, firstPage.get(BookingResource.NEXT_CURSOR).textValue()));
+        var window = executeSearch(Map.of(BookingResource.FROM, "2024-02-05", BookingResource.TO, "2024-02-11"));
+
+        Assertions.assertAll(
+            ()->Assertions.assertEquals(2, firstPage.get(BookingResource.BOOKINGS).size()),
+            ()->Assertions.assertEquals("2024-02-01", firstPage.get(BookingResource.BOOKINGS).get(0).get(Booking.START).textValue()),
+            ()->Assertions.assertEquals("2024-02-10", firstPage.get(BookingResource.BOOKINGS).get(1).get(Booking.START).textValue()),
+            ()->Assertions.assertEquals(1, secondPage.get(BookingResource.BOOKINGS).size()),
+            ()->Assertions.assertEquals("2024-02-20", secondPage.get(BookingResource.BOOKINGS).get(0).get(Booking.START).textValue()),
+            ()->Assertions.assertNull(secondPage.get(BookingResource.NEXT_CURSOR)),
+            ()->Assertions.assertEquals(2, window.get(BookingResource.BOOKINGS).size()),
+            ()->Assertions.assertEquals(778, window.get(BookingResource.BOOKINGS).get(0).get(Booking.PROPERTY_ID).intValue())
+        );
+    }
+
+    @Test
+    public void givenInvalidCursor_whenCallSearch_thenBadRequest(){
+        given()
+            .queryParam(BookingResource.CURSOR, "not-a-cursor")
+        .when()
+            .get(BookingResource.ROOT_PATH)
+        .then()
+            .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    public void givenExistentBooking_whenCallGetAfterPatch_thenCacheServesFreshBooking(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_update_just_person_id.json");
+        var location = executePost(payloads.get(START_VERSION_PAYLOAD).toString(), HttpStatus.SC_CREATED)
+            .extract().header(LOCATION_HEADER);
+        getBooking(location);
+        var before = getCacheStatistics();
+        getBooking(location);
+        executePatch(HttpStatus.SC_NO_CONTENT, payloads.get(UPDATE_VERSION_PAYLOAD), location);
+        var bookingAfterUpdate = getBooking(location);
+        var after = getCacheStatistics();
+
+        Assertions.assertAll(
+            ()->Assertions.assertTrue(after.get("hits").longValue() > before.get("hits").longValue()),
+            ()->Assertions.assertEquals(before.get("invalidations").longValue() + 1, after.get("invalidations").longValue()),
+            ()->Assertions.assertEquals(payloads.get(UPDATE_VERSION_PAYLOAD).get(Booking.PERSON_ID).longValue(),
+                bookingAfterUpdate.personId)
+        );
+    }
+
+    @Test
+    public void givenOverlap_whenCallPost_thenRejectionAndLatencyArePublished(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_create_overlap_validation.json");
+        executePost(payloads.get("initial_booking").toString(), HttpStatus.SC_CREATED);
+        executePost(payloads.get("range_inside").toString(), HttpStatus.SC_BAD_REQUEST);
+
+        var metrics =
+            when()
+                .get("/q/metrics")
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().asString();
+
+        Assertions.assertAll(
+            ()->Assertions.assertTrue(metrics.contains("booking_rejections_total{reason=\"already_booked\",type=\"BLOCK\"}")),
+            ()->Assertions.assertTrue(metrics.contains("operation=\"create\",quantile=\"0.999\"")),
+            ()->Assertions.assertTrue(metrics.contains("booking_overlap_check_seconds_count")),
+            ()->Assertions.assertTrue(metrics.contains("agroal_active_count"))
+        );
+    }
+
     @Test
     public void givenBookingsWithDaysCloseEachOther_whenCallPost_thenSucceed(){
         var payloads = payloadUtils.getPayload("/bookings/valid_booking_days_close.json");
@@ -293,6 +565,61 @@ public class BookingResourceTest {
                 .statusCode(expectedStatus);
     }
 
+    private static ValidatableResponse executePostBatch(final String payload, final int expectedStatus) {
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payload)
+            .when()
+                .post(BookingResource.ROOT_PATH + BookingResource.BATCH_PATH)
+            .then()
+                .statusCode(expectedStatus);
+    }
+
+    private static ValidatableResponse executeIdempotentPost(final String idempotencyKey, final String payload,
+                                                             final int expectedStatus) {
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .header(BookingResource.IDEMPOTENCY_KEY, idempotencyKey)
+                .body(payload)
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(expectedStatus);
+    }
+
+    private static ValidatableResponse executeConditionalPatch(final String ifMatch, final JsonNode updatePayload,
+                                                               final String location, final int expectedStatus) {
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .header(IF_MATCH_HEADER, ifMatch)
+                .body(updatePayload.toString())
+            .when()
+                .patch(location)
+            .then()
+                .statusCode(expectedStatus);
+    }
+
+    private static JsonNode getCacheStatistics() {
+        return
+            when()
+                .get(AdminResource.ROOT_PATH + AdminResource.CACHE_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+    }
+
+    private static JsonNode executeSearch(final Map<String, ?> queryParams) {
+        return
+            given()
+                .queryParams(queryParams)
+            .when()
+                .get(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+    }
+
     private static ValidatableResponse executePatch(final int expectedStatus, final JsonNode updatePayload, final String location) {
         return
             given()
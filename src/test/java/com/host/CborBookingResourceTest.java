@@ -0,0 +1,157 @@
+package com.host;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.host.exception.OverlapMessageWrapper;
+import com.host.index.BookingProjections;
+import com.host.model.Booking;
+import com.host.provider.WireFormats;
+import com.host.utils.PayloadUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * The booking endpoints spoken in CBOR, which must answer as they do in JSON.
+ */
+@QuarkusTest
+public class CborBookingResourceTest {
+
+    private final CBORMapper cborMapper = new CBORMapper();
+    @Inject
+    PayloadUtils payloadUtils;
+    @Inject
+    BookingProjections bookingProjections;
+
+    @BeforeEach
+    public void setup(){
+        QuarkusTransaction.requiringNew().run(() -> Booking.deleteAll());
+        bookingProjections.reload();
+    }
+
+    @Test
+    public void givenCborBooking_whenCallPostAndGet_thenSameBookingInBothFormats(){
+        var payload = payloadUtils.getPayload("/bookings/valid_booking.json");
+        var location = executePost(payload, HttpStatus.SC_CREATED).header(BookingResourceTest.LOCATION_HEADER);
+
+        var cborResponse = given()
+                .accept(WireFormats.APPLICATION_CBOR)
+            .when()
+                .get(location)
+            .then()
+                .statusCode(HttpStatus.SC_OK)
+                .contentType(WireFormats.APPLICATION_CBOR).extract();
+        var cborBooking = readCbor(cborResponse);
+        var jsonBooking = given()
+                .accept(ContentType.APPLICATION_JSON.getMimeType())
+            .when()
+                .get(location)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+
+        Assertions.assertAll(
+            ()->Assertions.assertEquals(payload.get(Booking.START), cborBooking.get(Booking.START)),
+            ()->Assertions.assertEquals(payload.get(Booking.PROPERTY_ID).longValue(), cborBooking.get(Booking.PROPERTY_ID).longValue()),
+            ()->Assertions.assertEquals(jsonBooking.toString(), cborBooking.toString()),
+            ()->Assertions.assertTrue(cborResponse.asByteArray().length < jsonBooking.toString().length())
+        );
+    }
+
+    @Test
+    public void givenExistentBooking_whenCallPostInCbor_thenOverlapInCbor(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_create_overlap_validation.json");
+        executePost(payloads.get("initial_booking"), HttpStatus.SC_CREATED);
+
+        var overlap = readCbor(executePost(payloads.get("range_inside"), HttpStatus.SC_BAD_REQUEST));
+
+        Assertions.assertAll(
+            ()->Assertions.assertEquals(payloads.get("initial_booking").get(Booking.START), overlap.get(OverlapMessageWrapper.START_BOOKED)),
+            ()->Assertions.assertEquals(payloads.get("range_inside").get(Booking.START), overlap.get(OverlapMessageWrapper.START_TRY_TO_BOOK))
+        );
+    }
+
+    @Test
+    public void givenInvalidCborBooking_whenCallPost_thenBadRequest(){
+        var violations = readCbor(executePost(payloadUtils.getPayload("/bookings/booking_start_date_greater_end_date.json"),
+                HttpStatus.SC_BAD_REQUEST));
+
+        Assertions.assertNotNull(violations.get("parameterViolations"));
+    }
+
+    @Test
+    public void givenCborBatch_whenCallPostBatch_thenReportEachBookingInCbor(){
+        var payloads = payloadUtils.getPayload("/bookings/batch_create.json");
+        executePost(payloads.get("existing_booking"), HttpStatus.SC_CREATED);
+
+        var results = readCbor(given()
+                .contentType(WireFormats.APPLICATION_CBOR)
+                .accept(WireFormats.APPLICATION_CBOR)
+                .body(writeCbor(payloads.get("batch")))
+            .when()
+                .post(BookingResource.ROOT_PATH + BookingResource.BATCH_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract());
+
+        Assertions.assertAll(
+            ()->Assertions.assertEquals(5, results.size()),
+            ()->Assertions.assertEquals(HttpStatus.SC_CREATED, results.get(0).get("status").intValue()),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(1).get("status").intValue()),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(2).get("status").intValue()),
+            ()->Assertions.assertNotNull(results.get(3).get("error").get("parameterViolations")),
+            ()->Assertions.assertEquals(HttpStatus.SC_CREATED, results.get(4).get("status").intValue())
+        );
+    }
+
+    @Test
+    public void givenBookings_whenCallSearchAcceptingCbor_thenPageInCbor(){
+        payloadUtils.getPayload("/bookings/search_bookings.json")
+            .forEach(p->executePost(p, HttpStatus.SC_CREATED));
+
+        var page = readCbor(given()
+                .accept(WireFormats.APPLICATION_CBOR)
+                .queryParam(Booking.PROPERTY_ID, 777)
+                .queryParam(BookingResource.LIMIT, 2)
+            .when()
+                .get(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_OK)
+                .contentType(WireFormats.APPLICATION_CBOR).extract());
+
+        Assertions.assertAll(
+            ()->Assertions.assertEquals(2, page.get(BookingResource.BOOKINGS).size()),
+            ()->Assertions.assertEquals("2024-02-01", page.get(BookingResource.BOOKINGS).get(0).get(Booking.START).textValue()),
+            ()->Assertions.assertNotNull(page.get(BookingResource.NEXT_CURSOR))
+        );
+    }
+
+    private ExtractableResponse<Response> executePost(final JsonNode payload, final int expectedStatus) {
+        return given()
+                .contentType(WireFormats.APPLICATION_CBOR)
+                .accept(WireFormats.APPLICATION_CBOR)
+                .body(writeCbor(payload))
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(expectedStatus).extract();
+    }
+
+    @SneakyThrows
+    private byte[] writeCbor(final JsonNode payload) {
+        return cborMapper.writeValueAsBytes(payload);
+    }
+
+    @SneakyThrows
+    private JsonNode readCbor(final ExtractableResponse<Response> response) {
+        return cborMapper.readTree(response.asByteArray());
+    }
+}
@@ -0,0 +1,193 @@
+package com.host;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.host.constants.ChangeTypeEnum;
+import com.host.event.BookingChangeLog;
+import com.host.event.BookingChangeStream;
+import com.host.index.BookingProjections;
+import com.host.model.Booking;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.SneakyThrows;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+
+@QuarkusTest
+public class ChangeResourceTest {
+    private static final long PROPERTY_ID = 3001L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Inject
+    BookingProjections bookingProjections;
+    @Inject
+    BookingChangeLog changeLog;
+    @Inject
+    ObjectMapper objectMapper;
+    @TestHTTPResource(ChangeResource.ROOT_PATH)
+    URI changesUri;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    @Transactional
+    public void setup(){
+        Booking.deleteAll();
+        bookingProjections.reload();
+    }
+
+    @Test
+    public void givenWrites_whenStreamAfterSequence_thenEveryChangeOfPropertyInOrder(){
+        final long before = changeLog.lastSequence();
+        var location = executePost(booking(PROPERTY_ID, "2024-07-01", "2024-07-05"));
+        executePost(booking(PROPERTY_ID + 1, "2024-07-01", "2024-07-05"));
+        executePatch(location, "{\"start\": \"2024-07-02\", \"end\": \"2024-07-06\"}");
+        executePatch(location, "{\"canceled\": true}");
+        when().delete(location).then().statusCode(HttpStatus.SC_NO_CONTENT);
+
+        final List<SseEvent> events = read(changesUri + "?after=" + before + "&property_id=" + PROPERTY_ID, null, 4);
+        Assertions.assertEquals(List.of(ChangeTypeEnum.CREATED, ChangeTypeEnum.UPDATED, ChangeTypeEnum.CANCELED, ChangeTypeEnum.REMOVED),
+                events.stream().map(event -> ChangeTypeEnum.valueOf(event.data.get("type").textValue())).toList());
+        final long firstPropertySequence = events.get(0).data.get("property_sequence").longValue();
+        for(int i = 0; i < events.size(); i++){
+            Assertions.assertEquals(BookingChangeStream.CHANGE_EVENT, events.get(i).name);
+            Assertions.assertEquals(firstPropertySequence + i, events.get(i).data.get("property_sequence").longValue());
+            Assertions.assertEquals(events.get(i).id, events.get(i).data.get("sequence").asText());
+        }
+        Assertions.assertEquals("2024-07-01", events.get(1).data.get("previous").get("start").textValue());
+        Assertions.assertEquals("2024-07-02", events.get(1).data.get("booking").get("start").textValue());
+
+        final List<SseEvent> resumed = read(changesUri + "?property_id=" + PROPERTY_ID, events.get(1).id, 2);
+        Assertions.assertEquals(events.subList(2, 4).stream().map(event -> event.id).toList(),
+                resumed.stream().map(event -> event.id).toList());
+    }
+
+    @Test
+    @SneakyThrows
+    public void givenOpenStream_whenCreate_thenChangeIsPushed(){
+        final HttpResponse<Stream<String>> response = open(changesUri + "?property_id=" + PROPERTY_ID, null);
+        try(Stream<String> lines = response.body()){
+            final CompletableFuture<List<SseEvent>> events = CompletableFuture.supplyAsync(() -> events(lines.iterator(), 1));
+            executePost(booking(PROPERTY_ID, "2024-08-01", "2024-08-05"));
+            final SseEvent created = events.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS).get(0);
+            Assertions.assertEquals(ChangeTypeEnum.CREATED.name(), created.data.get("type").textValue());
+            Assertions.assertEquals("2024-08-01", created.data.get("booking").get("start").textValue());
+        }
+    }
+
+    @Test
+    public void givenPositionFromBeforeRestart_whenStream_thenResetThenChanges(){
+        final long reset = changeLog.lastSequence() + 1_000_000;
+        executePost(booking(PROPERTY_ID, "2024-09-01", "2024-09-05"));
+        final List<SseEvent> events = read(changesUri + "?property_id=" + PROPERTY_ID, String.valueOf(reset), 2);
+        Assertions.assertEquals(BookingChangeStream.RESET_EVENT, events.get(0).name);
+        Assertions.assertEquals(BookingChangeStream.CHANGE_EVENT, events.get(1).name);
+    }
+
+    @Test
+    public void givenInvalidPosition_whenStream_thenBadRequest(){
+        given()
+            .queryParam(ChangeResource.AFTER, "last")
+        .when()
+            .get(ChangeResource.ROOT_PATH)
+        .then()
+            .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @SneakyThrows
+    private List<SseEvent> read(final String uri, final String lastEventId, final int count){
+        try(Stream<String> lines = open(uri, lastEventId).body()){
+            return CompletableFuture.supplyAsync(() -> events(lines.iterator(), count))
+                    .get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    @SneakyThrows
+    private HttpResponse<Stream<String>> open(final String uri, final String lastEventId){
+        final HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri)).timeout(TIMEOUT);
+        if(lastEventId != null){
+            request.header(ChangeResource.LAST_EVENT_ID, lastEventId);
+        }
+        final HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        Assertions.assertEquals(HttpStatus.SC_OK, response.statusCode());
+        return response;
+    }
+
+    /**
+     * Parses the first {@code count} events, skipping comments.
+     */
+    @SneakyThrows
+    private List<SseEvent> events(final Iterator<String> lines, final int count){
+        final List<SseEvent> events = new ArrayList<>(count);
+        SseEvent event = new SseEvent();
+        while(events.size() < count && lines.hasNext()){
+            final String line = lines.next();
+            if(line.isEmpty()){
+                if(event.name != null){
+                    events.add(event);
+                }
+                event = new SseEvent();
+            } else if(line.startsWith("id:")){
+                event.id = line.substring(3).trim();
+            } else if(line.startsWith("event:")){
+                event.name = line.substring(6).trim();
+            } else if(line.startsWith("data:")){
+                final String data = line.substring(5).trim();
+                event.data = data.startsWith("{") ? objectMapper.readTree(data) : objectMapper.getNodeFactory().textNode(data);
+            }
+        }
+        return events;
+    }
+
+    private static String executePost(final String payload){
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payload)
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_CREATED).extract().header(BookingResourceTest.LOCATION_HEADER);
+    }
+
+    private static void executePatch(final String location, final String payload){
+        given()
+            .contentType(ContentType.APPLICATION_JSON.getMimeType())
+            .body(payload)
+        .when()
+            .patch(location)
+        .then()
+            .statusCode(HttpStatus.SC_NO_CONTENT);
+    }
+
+    private static String booking(final long propertyId, final String start, final String end){
+        return String.format("{\"property_id\": %d, \"person_id\": 456, \"start\": \"%s\", \"end\": \"%s\", \"type\": \"BOOKING\"}",
+                propertyId, start, end);
+    }
+
+    private static class SseEvent {
+        private String id;
+        private String name;
+        private JsonNode data;
+    }
+}
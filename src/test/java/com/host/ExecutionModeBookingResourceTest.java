@@ -0,0 +1,93 @@
+package com.host;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.index.BookingProjections;
+import com.host.model.Booking;
+import com.host.utils.PayloadUtils;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import java.util.Map;
+
+import static io.restassured.RestAssured.when;
+
+/**
+ * The single booking endpoints answer as in {@link BookingResourceTest} when
+ * they run off the worker thread, in the virtual mode that hands them to a
+ * virtual thread and back. {@code BookingExecutorTest} covers every mode.
+ */
+@QuarkusTest
+@TestProfile(ExecutionModeBookingResourceTest.VirtualExecutionMode.class)
+public class ExecutionModeBookingResourceTest {
+
+    @Inject
+    PayloadUtils payloadUtils;
+    @Inject
+    BookingProjections bookingProjections;
+
+    @BeforeEach
+    @Transactional
+    public void setup(){
+        Booking.deleteAll();
+        bookingProjections.reload();
+    }
+
+    @Test
+    public void givenExecutionMode_whenCallEndpoints_thenSameResponses(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_create_overlap_validation.json");
+        var location = executePost(payloads.get("initial_booking"), HttpStatus.SC_CREATED)
+            .extract().header(BookingResourceTest.LOCATION_HEADER);
+
+        var booking = when().get(location).then().statusCode(HttpStatus.SC_OK).extract().body().as(Booking.class);
+        Assertions.assertEquals(payloads.get("initial_booking").get("start").textValue(), booking.start.toString());
+
+        var overlap = executePost(payloads.get("same_range"), HttpStatus.SC_BAD_REQUEST)
+            .extract().body().as(JsonNode.class);
+        Assertions.assertEquals(PropertyAlreadyBookedException.ERROR_MESSAGE,
+            overlap.get(BookingResourceTest.MESSAGE_RESPONSE_PROPERTY).textValue());
+
+        var startAfterEnd = payloadUtils.getPayload("/bookings/booking_update_start_after_end.json");
+        var violations = given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(startAfterEnd.get(BookingResourceTest.UPDATE_VERSION_PAYLOAD).toString())
+            .when()
+                .patch(location)
+            .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST).extract().body().as(JsonNode.class);
+        Assertions.assertTrue(violations.has("parameterViolations"));
+
+        when().delete(location).then().statusCode(HttpStatus.SC_NO_CONTENT);
+        when().get(location).then().statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    private static ValidatableResponse executePost(final JsonNode payload, final int expectedStatus) {
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payload.toString())
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(expectedStatus);
+    }
+
+    public static class VirtualExecutionMode implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("booking.execution.mode", "virtual");
+        }
+    }
+}
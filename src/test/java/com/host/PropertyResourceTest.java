@@ -0,0 +1,106 @@
+package com.host;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.host.index.BookingProjections;
+import com.host.model.Booking;
+import com.host.utils.PayloadUtils;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+
+@QuarkusTest
+public class PropertyResourceTest {
+    public static final String AVAILABILITY_URL = PropertyResource.ROOT_PATH + "901/availability";
+
+    @Inject
+    PayloadUtils payloadUtils;
+    @Inject
+    BookingProjections bookingProjections;
+
+    @BeforeEach
+    @Transactional
+    public void setup(){
+        Booking.deleteAll();
+        bookingProjections.reload();
+    }
+
+    @Test
+    public void givenBookingAndBlock_whenCallAvailability_thenNightsFollowWrites(){
+        var payloads = payloadUtils.getPayload("/bookings/availability_bookings.json");
+        var bookingLocation = executePost(payloads.get("booking"));
+        var blockLocation = executePost(payloads.get("block"));
+
+        Assertions.assertEquals(List.of(
+                "2024-01-10/2024-01-15/FREE",
+                "2024-01-15/2024-01-20/BOOKING",
+                "2024-01-20/2024-01-22/FREE",
+                "2024-01-22/2024-01-25/BLOCK",
+                "2024-01-25/2024-01-30/FREE"), getAvailability());
+
+        given()
+            .contentType(ContentType.APPLICATION_JSON.getMimeType())
+            .body(payloads.get("cancel").toString())
+        .when()
+            .patch(bookingLocation)
+        .then()
+            .statusCode(HttpStatus.SC_NO_CONTENT);
+        Assertions.assertEquals(List.of(
+                "2024-01-10/2024-01-22/FREE",
+                "2024-01-22/2024-01-25/BLOCK",
+                "2024-01-25/2024-01-30/FREE"), getAvailability());
+
+        when()
+            .delete(blockLocation)
+        .then()
+            .statusCode(HttpStatus.SC_NO_CONTENT);
+        Assertions.assertEquals(List.of("2024-01-10/2024-01-30/FREE"), getAvailability());
+    }
+
+    @Test
+    public void givenFromAfterTo_whenCallAvailability_thenBadRequest(){
+        given()
+            .queryParam(PropertyResource.FROM, "2024-01-30")
+            .queryParam(PropertyResource.TO, "2024-01-10")
+        .when()
+            .get(AVAILABILITY_URL)
+        .then()
+            .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    private static String executePost(final JsonNode payload){
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payload.toString())
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_CREATED).extract().header(BookingResourceTest.LOCATION_HEADER);
+    }
+
+    private static List<String> getAvailability(){
+        var body =
+            given()
+                .queryParam(PropertyResource.FROM, "2024-01-10")
+                .queryParam(PropertyResource.TO, "2024-01-30")
+            .when()
+                .get(AVAILABILITY_URL)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+        final List<String> nights = new ArrayList<>();
+        body.get("nights").forEach(run -> nights.add(run.get("start").textValue() + "/" +
+                run.get("end").textValue() + "/" + run.get("status").textValue()));
+        return nights;
+    }
+}
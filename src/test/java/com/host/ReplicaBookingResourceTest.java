@@ -0,0 +1,90 @@
+package com.host;
+
+import com.host.model.Booking;
+import com.host.utils.PayloadUtils;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * The replica is a database of its own here, only holding what the test
+ * copies into it, so that reads served by it can be told apart.
+ */
+@QuarkusTest
+@TestProfile(ReplicaBookingResourceTest.SeparateReplica.class)
+public class ReplicaBookingResourceTest {
+
+    @Inject
+    PayloadUtils payloadUtils;
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        QuarkusTransaction.requiringNew().run(() -> Booking.deleteAll());
+        try(Connection connection = replica.getConnection(); Statement statement = connection.createStatement()){
+            for(String table : new String[]{"Booking", "booking_archive"}){
+                statement.execute("create table if not exists " + table + " (id bigint primary key, property_id bigint,"
+                        + " person_id bigint, start_date date, end_date date, type tinyint, canceled boolean, version bigint)");
+                statement.execute("delete from " + table);
+            }
+        }
+    }
+
+    @Test
+    public void givenReplicaBehind_whenGetWithAndWithoutPin_thenOnlyPinnedReadSeesTheWrite() throws SQLException {
+        var response = given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payloadUtils.getPayload("/bookings/valid_booking.json").toString())
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_CREATED).extract();
+        var location = response.header(BookingResourceTest.LOCATION_HEADER);
+        var pin = response.cookie(BookingResource.PRIMARY_PIN_COOKIE);
+        Assertions.assertNotNull(pin);
+
+        given().when().get(location).then().statusCode(HttpStatus.SC_BAD_REQUEST);
+        given().cookie(BookingResource.PRIMARY_PIN_COOKIE, pin)
+            .when().get(location)
+            .then().statusCode(HttpStatus.SC_OK);
+        given().cookie(BookingResource.PRIMARY_PIN_COOKIE, Long.MAX_VALUE)
+            .when().get(location)
+            .then().statusCode(HttpStatus.SC_BAD_REQUEST);
+
+        final long id = Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+        try(Connection connection = replica.getConnection(); Statement statement = connection.createStatement()){
+            statement.execute("insert into Booking values (" + id + ", 555, 456, date '2024-01-15', date '2024-01-20', 0, false, 0)");
+        }
+        var replicated = given().when().get(location)
+            .then().statusCode(HttpStatus.SC_OK).extract().body().as(Booking.class);
+        Assertions.assertEquals(555L, replicated.propertyId);
+        Assertions.assertEquals("2024-01-20", replicated.end.toString());
+    }
+
+    public static class SeparateReplica implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "booking.replica.enabled", "true",
+                "quarkus.datasource.replica.jdbc.url", "jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.host;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.host.exception.OverlapMessageWrapper;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.model.Booking;
+import com.host.utils.PayloadUtils;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+
+/**
+ * The single booking endpoints answer as in {@link BookingResourceTest} when
+ * the bookings are kept in the write-ahead log instead of the database.
+ */
+@QuarkusTest
+@TestProfile(WalBookingResourceTest.WalPersistence.class)
+public class WalBookingResourceTest {
+    private static final long BATCH_PROPERTY_OFFSET = 10_000L;
+
+    @Inject
+    PayloadUtils payloadUtils;
+
+    @Test
+    public void givenWalPersistence_whenCallEndpoints_thenSameResponses(){
+        var payloads = payloadUtils.getPayload("/bookings/booking_create_overlap_validation.json");
+        var location = executePost(payloads.get("initial_booking"), HttpStatus.SC_CREATED)
+            .extract().header(BookingResourceTest.LOCATION_HEADER);
+
+        var booking = when().get(location).then().statusCode(HttpStatus.SC_OK).extract().body().as(Booking.class);
+        Assertions.assertEquals(payloads.get("initial_booking").get("start").textValue(), booking.start.toString());
+        var tag = when().get(location).then().extract().header(BookingResourceTest.ETAG_HEADER);
+        given().header(BookingResourceTest.IF_NONE_MATCH_HEADER, tag)
+            .when().get(location)
+            .then().statusCode(HttpStatus.SC_NOT_MODIFIED);
+
+        for(String overlapping : new String[]{"end_date_inside", "range_inside", "start_date_inside", "same_range", "over_start_and_end"}){
+            var overlap = executePost(payloads.get(overlapping), HttpStatus.SC_BAD_REQUEST)
+                .extract().body().as(JsonNode.class);
+            Assertions.assertEquals(PropertyAlreadyBookedException.ERROR_MESSAGE,
+                overlap.get(BookingResourceTest.MESSAGE_RESPONSE_PROPERTY).textValue());
+        }
+
+        var startAfterEnd = payloadUtils.getPayload("/bookings/booking_update_start_after_end.json");
+        var violations = given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(startAfterEnd.get(BookingResourceTest.UPDATE_VERSION_PAYLOAD).toString())
+            .when()
+                .patch(location)
+            .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST).extract().body().as(JsonNode.class);
+        Assertions.assertTrue(violations.has("parameterViolations"));
+
+        var rangeInside = payloads.get("range_inside").toString();
+        given().contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .header(BookingResourceTest.IF_MATCH_HEADER, tag).body(rangeInside)
+            .when().patch(location)
+            .then().statusCode(HttpStatus.SC_NO_CONTENT);
+        given().contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .header(BookingResourceTest.IF_MATCH_HEADER, tag).body(rangeInside)
+            .when().patch(location)
+            .then().statusCode(HttpStatus.SC_PRECONDITION_FAILED);
+
+        when().delete(location).then().statusCode(HttpStatus.SC_NO_CONTENT);
+        when().get(location).then().statusCode(HttpStatus.SC_BAD_REQUEST);
+        executePost(payloads.get("same_range"), HttpStatus.SC_CREATED);
+    }
+
+    /**
+     * The bookings of the batch are moved to properties of their own, away
+     * from the ones the other test leaves in the log.
+     */
+    @Test
+    public void givenBatch_whenCallPostBatch_thenOverlapsInsideTheChunkAreRefused(){
+        var payloads = payloadUtils.getPayload("/bookings/batch_create.json");
+        var existing = (ObjectNode) payloads.get("existing_booking");
+        existing.put(Booking.PROPERTY_ID, existing.get(Booking.PROPERTY_ID).longValue() + BATCH_PROPERTY_OFFSET);
+        payloads.get("batch").forEach(booking -> ((ObjectNode) booking).put(Booking.PROPERTY_ID,
+                booking.get(Booking.PROPERTY_ID).longValue() + BATCH_PROPERTY_OFFSET));
+        executePost(existing, HttpStatus.SC_CREATED);
+
+        var results =
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payloads.get("batch").toString())
+            .when()
+                .post(BookingResource.ROOT_PATH + BookingResource.BATCH_PATH)
+            .then()
+                .statusCode(HttpStatus.SC_OK).extract().body().as(JsonNode.class);
+
+        Assertions.assertAll(
+            ()->Assertions.assertEquals(HttpStatus.SC_CREATED, results.get(0).get("status").intValue()),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(1).get("status").intValue()),
+            ()->Assertions.assertEquals(payloads.get("batch").get(0).get("start"),
+                    results.get(1).get("error").get(OverlapMessageWrapper.START_BOOKED)),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(2).get("status").intValue()),
+            ()->Assertions.assertEquals(existing.get("start"),
+                    results.get(2).get("error").get(OverlapMessageWrapper.START_BOOKED)),
+            ()->Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, results.get(3).get("status").intValue()),
+            ()->Assertions.assertEquals(HttpStatus.SC_CREATED, results.get(4).get("status").intValue())
+        );
+        when().get(results.get(0).get("location").textValue()).then().statusCode(HttpStatus.SC_OK);
+        when().get(results.get(4).get("location").textValue()).then().statusCode(HttpStatus.SC_OK);
+    }
+
+    private static ValidatableResponse executePost(final JsonNode payload, final int expectedStatus) {
+        return
+            given()
+                .contentType(ContentType.APPLICATION_JSON.getMimeType())
+                .body(payload.toString())
+            .when()
+                .post(BookingResource.ROOT_PATH)
+            .then()
+                .statusCode(expectedStatus);
+    }
+
+    public static class WalPersistence implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("booking.persistence", "wal",
+                    "booking.wal.directory", "target/wal-test-" + System.nanoTime());
+        }
+    }
+}
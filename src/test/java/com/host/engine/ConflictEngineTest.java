@@ -0,0 +1,95 @@
+package com.host.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class ConflictEngineTest {
+    private static final long PROPERTY_ID = 555L;
+
+    @Test
+    public void givenBookings_whenCheckRanges_thenOnlyOverlapsConflict(){
+        final ConflictEngine engine = new ConflictEngine();
+        engine.add(PROPERTY_ID, 1L, 10, 15);
+        engine.add(PROPERTY_ID, 2L, 20, 25);
+        engine.add(PROPERTY_ID + 1, 3L, 0, 100);
+
+        Assertions.assertEquals(1L, engine.firstConflict(PROPERTY_ID, 14, 16, ConflictEngine.NONE));
+        Assertions.assertEquals(2L, engine.firstConflict(PROPERTY_ID, 12, 21, ConflictEngine.NONE));
+        Assertions.assertEquals(1L, engine.firstConflict(PROPERTY_ID, 5, 30, 2L));
+        Assertions.assertEquals(ConflictEngine.NONE, engine.firstConflict(PROPERTY_ID, 15, 20, ConflictEngine.NONE));
+        Assertions.assertEquals(ConflictEngine.NONE, engine.firstConflict(PROPERTY_ID, 21, 23, 2L));
+        Assertions.assertFalse(engine.overlaps(PROPERTY_ID + 2, 0, 100));
+
+        Assertions.assertTrue(engine.remove(PROPERTY_ID, 1L, 10));
+        Assertions.assertFalse(engine.remove(PROPERTY_ID, 1L, 10));
+        Assertions.assertTrue(engine.remove(PROPERTY_ID, 2L));
+        Assertions.assertFalse(engine.overlaps(PROPERTY_ID, 0, 100));
+    }
+
+    @Test
+    public void givenOverlappingBookings_whenCheckRangeInsideTheLongerOne_thenConflict(){
+        final ConflictEngine engine = new ConflictEngine();
+        engine.add(PROPERTY_ID, 1L, 1, 10);
+        engine.add(PROPERTY_ID, 2L, 1, 3);
+        engine.add(PROPERTY_ID, 3L, 4, 5);
+
+        Assertions.assertEquals(1L, engine.firstConflict(PROPERTY_ID, 5, 6, ConflictEngine.NONE));
+        Assertions.assertEquals(ConflictEngine.NONE, engine.firstConflict(PROPERTY_ID, 5, 6, 1L));
+        Assertions.assertEquals(3L, engine.firstConflict(PROPERTY_ID, 4, 5, 1L));
+
+        Assertions.assertTrue(engine.remove(PROPERTY_ID, 1L, 1));
+        Assertions.assertFalse(engine.overlaps(PROPERTY_ID, 5, 6));
+        engine.add(PROPERTY_ID, 2L, 1, 8);
+        Assertions.assertEquals(2L, engine.firstConflict(PROPERTY_ID, 6, 7, ConflictEngine.NONE));
+    }
+
+    @Test
+    public void givenBookings_whenAskFreeWindows_thenGapsOfMinNightsAreWritten(){
+        final ConflictEngine engine = new ConflictEngine();
+        engine.add(PROPERTY_ID, 1L, 10, 15);
+        engine.add(PROPERTY_ID, 2L, 16, 20);
+        engine.add(PROPERTY_ID, 3L, 25, 30);
+        final int[] windows = new int[8];
+
+        Assertions.assertEquals(3, engine.freeWindows(PROPERTY_ID, 0, 40, 2, windows));
+        Assertions.assertArrayEquals(new int[]{0, 10, 20, 25, 30, 40}, Arrays.copyOf(windows, 6));
+
+        Assertions.assertEquals(2, engine.freeWindows(PROPERTY_ID, 12, 28, 1, windows));
+        Assertions.assertArrayEquals(new int[]{15, 16, 20, 25}, Arrays.copyOf(windows, 4));
+
+        Assertions.assertEquals(1, engine.freeWindows(PROPERTY_ID, 0, 40, 2, new int[2]));
+        Assertions.assertEquals(1, engine.freeWindows(PROPERTY_ID + 1, 0, 40, 2, windows));
+        Assertions.assertEquals(0, engine.freeWindows(PROPERTY_ID, 10, 20, 2, windows));
+    }
+
+    @Test
+    public void givenOverlappingBookings_whenAskFreeWindowsInsideTheLongerOne_thenNone(){
+        final ConflictEngine engine = new ConflictEngine();
+        engine.add(PROPERTY_ID, 1L, 1, 10);
+        engine.add(PROPERTY_ID, 2L, 1, 3);
+        final int[] windows = new int[4];
+
+        Assertions.assertEquals(0, engine.freeWindows(PROPERTY_ID, 5, 8, 1, windows));
+        Assertions.assertEquals(1, engine.freeWindows(PROPERTY_ID, 5, 14, 1, windows));
+        Assertions.assertArrayEquals(new int[]{10, 14}, Arrays.copyOf(windows, 2));
+    }
+
+    @Test
+    public void givenManyPropertiesAndBookings_whenAddOutOfOrder_thenEveryBookingIsFound(){
+        final ConflictEngine engine = new ConflictEngine();
+        for(int booking = 999; booking >= 0; booking--){
+            for(long property = 0; property < 200; property++){
+                engine.add(property, property * 1_000 + booking, booking * 3, booking * 3 + 2);
+            }
+        }
+        for(long property = 0; property < 200; property++){
+            for(int booking = 0; booking < 1_000; booking++){
+                Assertions.assertEquals(property * 1_000 + booking,
+                        engine.firstConflict(property, booking * 3 + 1, booking * 3 + 2, ConflictEngine.NONE));
+                Assertions.assertFalse(engine.overlaps(property, booking * 3 + 2, booking * 3 + 3));
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.host.index;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.model.BookingSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
+public class NightIndexTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+    @Test
+    public void givenBookings_whenSearchRange_thenOnlyPropertiesFreeEveryNightAreReturned(){
+        final NightIndex index = new NightIndex();
+        index.add(booking(1L, 1L, 0, 5));
+        index.add(booking(2L, 2L, 5, 8));
+        final BookingSnapshot block = booking(3L, 3L, 2, 3);
+        index.add(block);
+
+        Assertions.assertArrayEquals(new long[]{2L}, free(index, 0, 5, null));
+        Assertions.assertArrayEquals(new long[]{1L, 3L}, free(index, 5, 10, null));
+        Assertions.assertArrayEquals(new long[]{2L, 4L}, free(index, 0, 5, new long[]{4L, 2L, 1L, 2L}));
+
+        index.remove(block);
+        Assertions.assertArrayEquals(new long[]{2L, 3L}, free(index, 0, 5, null));
+    }
+
+    @Test
+    public void givenPropertiesOverSeveralSlices_whenSearchRange_thenEverySliceIsChecked(){
+        final NightIndex index = new NightIndex();
+        final int properties = 100_000;
+        for(long propertyId = 0; propertyId < properties; propertyId++){
+            if(propertyId % 3 == 0){
+                index.add(booking(propertyId, propertyId, (int) (propertyId % 7), (int) (propertyId % 7) + 1));
+            } else {
+                index.add(booking(propertyId, propertyId, 20, 21));
+            }
+        }
+
+        final long[] expected = LongStream.range(0, properties)
+                .filter(propertyId -> propertyId % 3 != 0 || propertyId % 7 >= 5)
+                .toArray();
+        Assertions.assertArrayEquals(expected, free(index, 0, 5, null));
+    }
+
+    private static long[] free(final NightIndex index, final int from, final int to, final long[] candidates){
+        return index.free(DAY.plusDays(from).toEpochDay(), DAY.plusDays(to).toEpochDay(), candidates);
+    }
+
+    private static BookingSnapshot booking(final long id, final long propertyId, final int start, final int end){
+        return new BookingSnapshot(id, propertyId, 456L, DAY.plusDays(start), DAY.plusDays(end),
+                BookingTypeEnum.BOOKING, false, 0L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.host.model;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.utils.CapturingStatementInspector;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+@QuarkusTest
+public class BookingOverlapQueryTest {
+    private static final Long PROPERTY_ID = 555L;
+    private static final LocalDate START = LocalDate.of(2024, 1, 15);
+    private static final LocalDate END = LocalDate.of(2024, 1, 20);
+
+    @Inject
+    EntityManager entityManager;
+    @Inject
+    @PersistenceUnitExtension
+    CapturingStatementInspector statementInspector;
+
+    @BeforeEach
+    @Transactional
+    public void setup(){
+        Booking.deleteAll();
+        booking(START, END).persist();
+    }
+
+    @Test
+    @Transactional
+    public void givenOverlapQuery_whenExplain_thenUsesCompositeIndex(){
+        var statements = statementInspector.capture(() -> Booking.findIfDateIsBooked(booking(START, END)));
+        Assertions.assertEquals(1, statements.size(), statements::toString);
+
+        var plan = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try(PreparedStatement explain = connection.prepareStatement("explain " + statements.get(0));
+                ResultSet result = explain.executeQuery()){
+                result.next();
+                return result.getString(1);
+            }
+        });
+
+        Assertions.assertTrue(plan.toUpperCase().contains(Booking.OVERLAP_INDEX.toUpperCase()), plan);
+    }
+
+    @Test
+    @Transactional
+    public void givenExistentBooking_whenQueryBoundaries_thenOnlyOverlapsMatch(){
+        Assertions.assertAll(
+            () -> Assertions.assertNotNull(Booking.findIfDateIsBooked(booking(START, END))),
+            () -> Assertions.assertNotNull(Booking.findIfDateIsBooked(booking(START.minusDays(1), START.plusDays(1)))),
+            () -> Assertions.assertNotNull(Booking.findIfDateIsBooked(booking(END.minusDays(1), END.plusDays(1)))),
+            () -> Assertions.assertNotNull(Booking.findIfDateIsBooked(booking(START.plusDays(1), END.minusDays(1)))),
+            () -> Assertions.assertNotNull(Booking.findIfDateIsBooked(booking(START.minusDays(1), END.plusDays(1)))),
+            () -> Assertions.assertNull(Booking.findIfDateIsBooked(booking(START.minusDays(5), START))),
+            () -> Assertions.assertNull(Booking.findIfDateIsBooked(booking(END, END.plusDays(5))))
+        );
+    }
+
+    private static Booking booking(final LocalDate start, final LocalDate end){
+        final Booking booking = new Booking();
+        booking.propertyId = PROPERTY_ID;
+        booking.personId = 456L;
+        booking.start = start;
+        booking.end = end;
+        booking.type = BookingTypeEnum.BOOKING;
+        return booking;
+    }
+}
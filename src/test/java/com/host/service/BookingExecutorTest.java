@@ -0,0 +1,114 @@
+package com.host.service;
+
+import com.host.constants.ExecutionModeEnum;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Every execution mode answers with what the operation returns or throws,
+ * and the modes running off the worker thread reject the work beyond their
+ * queue.
+ */
+public class BookingExecutorTest {
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final long QUEUED_MILLIS = 100;
+
+    private final ManagedExecutor workerPool = ManagedExecutor.builder().build();
+    private BookingExecutor bookingExecutor;
+
+    @AfterEach
+    public void cleanup(){
+        bookingExecutor.shutdown();
+        workerPool.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutionModeEnum.class)
+    public void givenOperation_whenSubmit_thenItsResult(final ExecutionModeEnum mode) throws Exception {
+        bookingExecutor = bookingExecutor(mode, 1, 10);
+
+        Assertions.assertEquals("booked", get(bookingExecutor.submit(() -> "booked")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutionModeEnum.class)
+    public void givenFailingOperation_whenSubmit_thenStageFailsWithItsException(final ExecutionModeEnum mode){
+        bookingExecutor = bookingExecutor(mode, 1, 10);
+        final IllegalStateException failure = new IllegalStateException("booking failed");
+
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> get(bookingExecutor.submit(() -> { throw failure; })));
+        Assertions.assertSame(failure, e.getCause());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExecutionModeEnum.class, names = {"POOL", "VIRTUAL"})
+    public void givenFullQueue_whenSubmit_thenRejectedAndQueuedOnesStillRun(final ExecutionModeEnum mode) throws Exception {
+        bookingExecutor = bookingExecutor(mode, 1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<CompletionStage<Boolean>> accepted = new ArrayList<>();
+        while(true){
+            final CompletionStage<Boolean> submitted = bookingExecutor.submit(() -> await(release));
+            try {
+                submitted.toCompletableFuture().get(QUEUED_MILLIS, TimeUnit.MILLISECONDS);
+                Assertions.fail("ran past the release");
+            } catch(final TimeoutException e){
+                accepted.add(submitted);
+            } catch(final ExecutionException e){
+                Assertions.assertInstanceOf(RejectedExecutionException.class, e.getCause());
+                break;
+            }
+        }
+        Assertions.assertEquals(2, accepted.size());
+        release.countDown();
+
+        for(CompletionStage<Boolean> write : accepted){
+            Assertions.assertTrue(get(write));
+        }
+    }
+
+    @Test
+    public void givenVirtualMode_whenOperationCompletes_thenStageCompletesOffTheVirtualThread() throws Exception {
+        bookingExecutor = bookingExecutor(ExecutionModeEnum.VIRTUAL, 1, 10);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletionStage<Boolean> ranOnVirtualThread = bookingExecutor.submit(() -> await(release)
+                && Thread.currentThread().isVirtual());
+        final CompletionStage<Boolean> completedOnVirtualThread = ranOnVirtualThread
+                .thenApply(ignored -> Thread.currentThread().isVirtual());
+        release.countDown();
+
+        Assertions.assertTrue(get(ranOnVirtualThread));
+        Assertions.assertFalse(get(completedOnVirtualThread));
+    }
+
+    private BookingExecutor bookingExecutor(final ExecutionModeEnum mode, final int poolSize, final int queueSize){
+        return new BookingExecutor(mode, poolSize, queueSize, ThreadContext.builder().build(), workerPool);
+    }
+
+    private static <T> T get(final CompletionStage<T> stage) throws Exception {
+        return stage.toCompletableFuture().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static boolean await(final CountDownLatch latch){
+        try {
+            return latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch(final InterruptedException e){
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.host.service;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.index.BookingProjections;
+import com.host.model.Booking;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@QuarkusTest
+public class BookingServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+    private static final long[] PROPERTY_IDS = {1001L, 1002L, 1003L, 1004L};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 1);
+
+    @Inject
+    BookingService bookingService;
+    @Inject
+    BookingProjections bookingProjections;
+
+    @BeforeEach
+    @Transactional
+    public void setup(){
+        Booking.deleteAll();
+        bookingProjections.reload();
+    }
+
+    @Test
+    public void givenConcurrentOverlappingWrites_whenCallService_thenNoDoubleBooking() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final List<Future<?>> writers = new ArrayList<>();
+        for(int thread = 0; thread < THREADS; thread++){
+            final Random random = new Random(thread);
+            writers.add(executor.submit(() -> {
+                start.await();
+                for(int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++){
+                    final Booking booking = randomBooking(random);
+                    try {
+                        bookingService.create(booking);
+                        created.incrementAndGet();
+                        bookingService.update(booking.id, shifted(booking, random.nextInt(5) - 2));
+                    } catch(final PropertyAlreadyBookedException e){
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for(Future<?> writer : writers){
+            writer.get();
+        }
+        executor.shutdown();
+
+        Assertions.assertTrue(created.get() > 0);
+        Assertions.assertTrue(rejected.get() > 0);
+        assertNoOverlap();
+    }
+
+    private static void assertNoOverlap(){
+        final List<Booking> bookings = Booking.list("canceled = false order by propertyId, start");
+        for(int i = 1; i < bookings.size(); i++){
+            final Booking previous = bookings.get(i - 1);
+            final Booking next = bookings.get(i);
+            if(previous.propertyId.equals(next.propertyId)){
+                Assertions.assertFalse(previous.end.isAfter(next.start), previous + " overlaps " + next);
+            }
+        }
+    }
+
+    private static Booking randomBooking(final Random random){
+        final Booking booking = new Booking();
+        booking.propertyId = PROPERTY_IDS[random.nextInt(PROPERTY_IDS.length)];
+        booking.personId = (long) random.nextInt(1000);
+        booking.start = FIRST_DAY.plusDays(random.nextInt(60));
+        booking.end = booking.start.plusDays(1 + random.nextInt(5));
+        booking.type = BookingTypeEnum.BOOKING;
+        return booking;
+    }
+
+    private static Booking shifted(final Booking booking, final int days){
+        final Booking update = new Booking();
+        update.start = booking.start.plusDays(days);
+        update.end = booking.end.plusDays(days);
+        return update;
+    }
+}
@@ -0,0 +1,148 @@
+package com.host.service;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.exception.BookingVersionMismatchException;
+import com.host.exception.PropertyAlreadyBookedException;
+import com.host.index.BookingProjections;
+import com.host.model.Booking;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes submitted within the window land in one group, in submission order.
+ */
+@QuarkusTest
+@TestProfile(GroupCommitBookingServiceTest.GroupCommit.class)
+public class GroupCommitBookingServiceTest {
+    private static final long PROPERTY_ID = 2001L;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 5, 1);
+    private static final long SUBMIT_GAP_MILLIS = 20;
+
+    @Inject
+    BookingService bookingService;
+    @Inject
+    BookingProjections bookingProjections;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    @Transactional
+    public void setup(){
+        Booking.deleteAll();
+        bookingProjections.reload();
+    }
+
+    @Test
+    public void givenOverlappingCreatesInOneGroup_whenCommit_thenOnlyTheFirstIsCreated(){
+        final List<CompletableFuture<Void>> writes = new ArrayList<>();
+        writes.add(create(booking(0, 5)));
+        writes.add(create(booking(3, 8)));
+        writes.add(create(booking(5, 7)));
+
+        Assertions.assertNull(writes.get(0).join());
+        assertFailsWith(PropertyAlreadyBookedException.class, writes.get(1));
+        Assertions.assertNull(writes.get(2).join());
+        Assertions.assertEquals(2, Booking.count());
+    }
+
+    @Test
+    public void givenUpdateFreeingRange_whenCreateInSameGroup_thenBothAreCommitted(){
+        final Booking stored = booking(0, 5);
+        bookingService.create(stored);
+
+        final CompletableFuture<Void> moved = update(stored.id, booking(10, 15));
+        final CompletableFuture<Void> created = create(booking(0, 5));
+        final CompletableFuture<Void> overlapsMoved = create(booking(12, 14));
+        final CompletableFuture<Void> invalid = update(stored.id, booking(20, 18));
+
+        Assertions.assertNull(moved.join());
+        Assertions.assertNull(created.join());
+        assertFailsWith(PropertyAlreadyBookedException.class, overlapsMoved);
+        assertFailsWith(ConstraintViolationException.class, invalid);
+        Assertions.assertEquals(FIRST_DAY.plusDays(10), bookingService.get(stored.id).start);
+        Assertions.assertEquals(2, Booking.count());
+    }
+
+    @Test
+    public void givenUpdatesAgainstSameVersionInOneGroup_whenCommit_thenOnlyTheFirstIsApplied(){
+        final Booking stored = booking(0, 5);
+        bookingService.create(stored);
+
+        final CompletableFuture<Void> first = update(stored.id, versioned(booking(1, 5), stored.version));
+        final CompletableFuture<Void> second = update(stored.id, versioned(booking(2, 5), stored.version));
+        final CompletableFuture<Void> next = update(stored.id, versioned(booking(3, 5), stored.version + 1));
+
+        Assertions.assertNull(first.join());
+        assertFailsWith(BookingVersionMismatchException.class, second);
+        Assertions.assertNull(next.join());
+        final Booking updated = bookingService.get(stored.id);
+        Assertions.assertEquals(FIRST_DAY.plusDays(3), updated.start);
+        Assertions.assertEquals(stored.version + 2, updated.version);
+    }
+
+    private CompletableFuture<Void> create(final Booking booking){
+        return submit(() -> bookingService.create(booking));
+    }
+
+    private CompletableFuture<Void> update(final Long id, final Booking booking){
+        return submit(() -> bookingService.update(id, booking));
+    }
+
+    /**
+     * Leaves a gap after every call so that the writes reach the queue in
+     * the order they are made.
+     */
+    private CompletableFuture<Void> submit(final Runnable write){
+        final CompletableFuture<Void> future = CompletableFuture.runAsync(write, callers);
+        try {
+            Thread.sleep(SUBMIT_GAP_MILLIS);
+        } catch(final InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        return future;
+    }
+
+    private static void assertFailsWith(final Class<? extends Throwable> expected, final CompletableFuture<Void> write){
+        final CompletionException e = Assertions.assertThrows(CompletionException.class, write::join);
+        Assertions.assertInstanceOf(expected, e.getCause());
+    }
+
+    private static Booking versioned(final Booking booking, final Long version){
+        booking.version = version;
+        return booking;
+    }
+
+    private static Booking booking(final int startDay, final int endDay){
+        final Booking booking = new Booking();
+        booking.propertyId = PROPERTY_ID;
+        booking.personId = 456L;
+        booking.start = FIRST_DAY.plusDays(startDay);
+        booking.end = FIRST_DAY.plusDays(endDay);
+        booking.type = BookingTypeEnum.BOOKING;
+        return booking;
+    }
+
+    public static class GroupCommit implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("booking.group-commit.enabled", "true",
+                    "booking.group-commit.window", "500ms");
+        }
+    }
+}
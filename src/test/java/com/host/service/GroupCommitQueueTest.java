@@ -0,0 +1,94 @@
+package com.host.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every write the queue accepts is answered, whether it is committed, its
+ * group fails or the queue closes around it.
+ */
+public class GroupCommitQueueTest {
+    private static final Duration WINDOW = Duration.ofMillis(10);
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Test
+    public void givenWritesSubmittedDuringClose_whenClosed_thenAcceptedOnesAreCommittedAndLaterOnesRejected() throws Exception {
+        final CountDownLatch committing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final GroupCommitQueue<CompletableFuture<Void>> queue = new GroupCommitQueue<>("test-group-commit", WINDOW, 10,
+                writes -> {
+                    committing.countDown();
+                    await(release);
+                    writes.forEach(write -> write.complete(null));
+                },
+                CompletableFuture::completeExceptionally);
+        final List<CompletableFuture<Void>> accepted = new ArrayList<>();
+        accepted.add(submit(queue));
+        Assertions.assertTrue(committing.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        final CompletableFuture<Void> closing = CompletableFuture.runAsync(() -> {
+            try {
+                queue.close();
+            } catch(final InterruptedException e){
+                throw new IllegalStateException(e);
+            }
+        });
+        while(true){
+            try {
+                accepted.add(submit(queue));
+            } catch(final RejectedExecutionException e){
+                break;
+            }
+        }
+        release.countDown();
+        closing.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        for(CompletableFuture<Void> write : accepted){
+            Assertions.assertNull(write.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        Assertions.assertThrows(RejectedExecutionException.class, () -> submit(queue));
+    }
+
+    @Test
+    public void givenCommitterThrowingError_whenSubmitAgain_thenGroupFailsAndQueueKeepsCommitting() throws Exception {
+        final boolean[] failNext = {true};
+        try(GroupCommitQueue<CompletableFuture<Void>> queue = new GroupCommitQueue<>("test-group-commit", WINDOW, 10,
+                writes -> {
+                    if(failNext[0]){
+                        failNext[0] = false;
+                        throw new AssertionError("committer failed");
+                    }
+                    writes.forEach(write -> write.complete(null));
+                },
+                CompletableFuture::completeExceptionally)){
+            final CompletableFuture<Void> failed = submit(queue);
+            final CompletionException e = Assertions.assertThrows(CompletionException.class, failed::join);
+            Assertions.assertInstanceOf(AssertionError.class, e.getCause());
+
+            Assertions.assertNull(submit(queue).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    private static CompletableFuture<Void> submit(final GroupCommitQueue<CompletableFuture<Void>> queue){
+        final CompletableFuture<Void> write = new CompletableFuture<>();
+        queue.submit(write);
+        return write;
+    }
+
+    private static void await(final CountDownLatch latch){
+        try {
+            latch.await();
+        } catch(final InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.host.utils;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the SQL Hibernate sends while {@link #capture} runs, so that tests
+ * can look at the statements it actually generates.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class CapturingStatementInspector implements StatementInspector {
+
+    private final List<String> captured = new CopyOnWriteArrayList<>();
+    private volatile boolean capturing;
+
+    @Override
+    public String inspect(final String sql){
+        if(capturing){
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    public List<String> capture(final Runnable operation){
+        captured.clear();
+        capturing = true;
+        try {
+            operation.run();
+        } finally {
+            capturing = false;
+        }
+        return List.copyOf(captured);
+    }
+}
@@ -0,0 +1,115 @@
+package com.host.wal;
+
+import com.host.constants.BookingTypeEnum;
+import com.host.engine.ConflictEngine;
+import com.host.model.BookingSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A store that is opened again without having been closed stands for a
+ * process that crashed: only what reached the files is recovered.
+ */
+public class WalBookingStoreTest {
+    private static final int SEGMENT_BYTES = 64 * 1024;
+    private static final int RECORD_BYTES = LogSegment.HEADER_BYTES + BookingCodec.MAX_RECORD_BYTES;
+    private static final LocalDate FIRST_START = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void givenWritesAndNoClose_whenReopen_thenEveryWriteIsRecovered() throws IOException {
+        final WalBookingStore crashed = open();
+        final BookingSnapshot first = put(crashed, 1L, 0);
+        final BookingSnapshot second = put(crashed, 1L, 10);
+        final BookingSnapshot third = put(crashed, 2L, 0);
+        final BookingSnapshot canceled = withCanceled(second);
+        crashed.put(canceled);
+        crashed.remove(third.id());
+
+        final WalBookingStore recovered = open();
+        Assertions.assertEquals(first, recovered.get(first.id()));
+        Assertions.assertEquals(canceled, recovered.get(second.id()));
+        Assertions.assertNull(recovered.get(third.id()));
+        Assertions.assertEquals(first.id(), conflict(recovered, first));
+        Assertions.assertEquals(ConflictEngine.NONE, conflict(recovered, second));
+        Assertions.assertEquals(List.of(first, canceled), List.copyOf(recovered.after(Integer.MIN_VALUE, Long.MIN_VALUE)));
+        Assertions.assertTrue(recovered.nextId() > third.id());
+    }
+
+    @Test
+    public void givenTornLastRecord_whenReopen_thenItIsDroppedAndLaterWritesSurvive() throws IOException {
+        final WalBookingStore crashed = open();
+        final BookingSnapshot kept = put(crashed, 1L, 0);
+        final BookingSnapshot torn = put(crashed, 1L, 10);
+        try(RandomAccessFile segment = new RandomAccessFile(segments().get(0).toFile(), "rw")){
+            segment.seek(RECORD_BYTES + LogSegment.HEADER_BYTES + 5);
+            segment.write(0x7F);
+        }
+
+        final WalBookingStore recovered = open();
+        Assertions.assertEquals(kept, recovered.get(kept.id()));
+        Assertions.assertNull(recovered.get(torn.id()));
+        final BookingSnapshot afterCrash = put(recovered, 1L, 20);
+
+        final WalBookingStore recoveredAgain = open();
+        Assertions.assertEquals(kept, recoveredAgain.get(kept.id()));
+        Assertions.assertEquals(afterCrash, recoveredAgain.get(afterCrash.id()));
+        Assertions.assertEquals(2, recoveredAgain.all().size());
+    }
+
+    @Test
+    public void givenSnapshotAndLaterWrites_whenReopen_thenBothAreRecoveredAndOldSegmentsDropped() throws IOException {
+        final WalBookingStore crashed = open();
+        for(int i = 0; i < 2_000; i++){
+            put(crashed, i % 10, 10 * (i / 10));
+        }
+        crashed.snapshot();
+        final BookingSnapshot afterSnapshot = put(crashed, 99L, 0);
+        crashed.remove(1L);
+        Assertions.assertEquals(1, segments().size());
+
+        final WalBookingStore recovered = open();
+        Assertions.assertEquals(2_000, recovered.all().size());
+        Assertions.assertNull(recovered.get(1L));
+        Assertions.assertEquals(afterSnapshot, recovered.get(afterSnapshot.id()));
+        Assertions.assertEquals(afterSnapshot.id() + 1, recovered.nextId());
+    }
+
+    private WalBookingStore open() throws IOException {
+        return new WalBookingStore(directory, SEGMENT_BYTES, true, Long.MAX_VALUE);
+    }
+
+    private List<Path> segments() throws IOException {
+        try(Stream<Path> files = Files.list(directory)){
+            return files.filter(file -> file.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+
+    private static BookingSnapshot put(final WalBookingStore store, final long propertyId, final int startDay){
+        final BookingSnapshot booking = new BookingSnapshot(store.nextId(), propertyId, 456L,
+                FIRST_START.plusDays(startDay), FIRST_START.plusDays(startDay + 5), BookingTypeEnum.BOOKING, false, 0L);
+        store.put(booking);
+        return booking;
+    }
+
+    private static BookingSnapshot withCanceled(final BookingSnapshot booking){
+        return new BookingSnapshot(booking.id(), booking.propertyId(), booking.personId(),
+                booking.start(), booking.end(), booking.type(), true, booking.version() + 1);
+    }
+
+    private static long conflict(final WalBookingStore store, final BookingSnapshot booking){
+        return store.firstConflict(booking.propertyId(), (int) booking.start().toEpochDay(),
+                (int) booking.end().toEpochDay(), ConflictEngine.NONE);
+    }
+}